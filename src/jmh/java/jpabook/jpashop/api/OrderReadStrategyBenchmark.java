@@ -0,0 +1,231 @@
+package jpabook.jpashop.api;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jpabook.jpashop.JpashopApplication;
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Delivery;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.OrderItem;
+import jpabook.jpashop.domain.item.Book;
+
+/*
+ * 주문 조회 전략 비교 (./gradlew jmh)
+ * - 주문 v1 ~ v6, 단순 주문 v1 ~ v4를 컨트롤러 호출 + JSON 직렬화까지 측정
+ * - 처리량: JMH 결과 / 할당량: gc 프로파일러(gc.alloc.rate.norm) / 쿼리 수: 보조 카운터 queries ÷ invocations
+ * - 데이터 모양은 @Param (주문 수, 주문당 상품 수, 회원 수)으로 조정
+ *   다른 값으로 측정할 때는 build.gradle의 jmh.benchmarkParameters 사용
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class OrderReadStrategyBenchmark {
+
+  // v3.1 페이지 크기 상한 (default_batch_fetch_size)
+  static final int PAGE_SIZE = 100;
+
+  @Param({"100", "1000"})
+  int orders;
+
+  @Param({"1", "5"})
+  int linesPerOrder;
+
+  @Param({"10"})
+  int members;
+
+  ConfigurableApplicationContext context;
+  OrderApiController orderApi;
+  OrderSimpleApiController simpleOrderApi;
+  ObjectMapper objectMapper;
+  Statistics statistics;
+
+  // 측정 중 실행한 쿼리 수와 호출 수 (JMH 결과에 보조 카운터로 함께 출력)
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class QueryCounters {
+
+    public long queries;
+    public long invocations;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      queries = 0;
+      invocations = 0;
+    }
+  }
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context = SpringApplication.run(JpashopApplication.class,
+        "--spring.main.web-application-type=none",
+        "--spring.datasource.url=jdbc:h2:mem:jmh;DB_CLOSE_DELAY=-1",
+        "--spring.datasource.username=sa",
+        "--spring.jpa.hibernate.ddl-auto=create",
+        "--spring.jpa.properties.hibernate.generate_statistics=true",
+        // 측정 대상이 아닌 비용 제거: SQL 로그, 응답 캐시, 스케줄 작업 로그
+        "--logging.level.org.hibernate.SQL=warn",
+        "--logging.level.p6spy=warn",
+        "--decorator.datasource.p6spy.enable-logging=false",
+        "--jpashop.order-cache.enabled=false");
+
+    orderApi = context.getBean(OrderApiController.class);
+    simpleOrderApi = context.getBean(OrderSimpleApiController.class);
+    objectMapper = context.getBean(ObjectMapper.class);
+    statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+    statistics.setStatisticsEnabled(true);
+
+    seed();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  // 회원 members명, 상품 20개, 주문 orders건 (주문당 상품 linesPerOrder개)
+  private void seed() {
+    EntityManager em = context.getBean(EntityManager.class);
+    TransactionTemplate tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+    tx.executeWithoutResult(status -> {
+      Member[] seedMembers = new Member[members];
+      for (int i = 0; i < members; i++) {
+        Member member = new Member();
+        member.setName("jmh-member-" + i);
+        member.setAddress(new Address("서울", "강가", String.valueOf(i)));
+        em.persist(member);
+        seedMembers[i] = member;
+      }
+
+      Book[] books = new Book[20];
+      for (int i = 0; i < books.length; i++) {
+        Book book = new Book();
+        book.setName("jmh-book-" + i);
+        book.setPrice(10000 + i * 1000);
+        book.setStockQuantity(Integer.MAX_VALUE);
+        em.persist(book);
+        books[i] = book;
+      }
+
+      for (int i = 0; i < orders; i++) {
+        Member member = seedMembers[i % members];
+        Delivery delivery = new Delivery();
+        delivery.setAddress(member.getAddress());
+
+        OrderItem[] orderItems = new OrderItem[linesPerOrder];
+        for (int l = 0; l < linesPerOrder; l++) {
+          Book book = books[(i + l) % books.length];
+          orderItems[l] = OrderItem.createOrderItemWithoutStock(book, book.getPrice(), 1 + l);
+        }
+        em.persist(Order.createOrder(member, delivery, orderItems));
+      }
+    });
+  }
+
+  // 조회 + 직렬화 쿼리 수를 모두 세기 위해 조회 전에 시작 값을 기록
+  private byte[] measure(QueryCounters counters, ThrowingSupplier read) throws Exception {
+    long before = statistics.getPrepareStatementCount();
+    byte[] json = objectMapper.writeValueAsBytes(read.get());
+    counters.queries += statistics.getPrepareStatementCount() - before;
+    counters.invocations++;
+    return json;
+  }
+
+  @FunctionalInterface
+  interface ThrowingSupplier {
+    Object get() throws Exception;
+  }
+
+  // 엔티티 직접 노출 (지연 로딩 강제 초기화)
+  @Benchmark
+  public byte[] ordersV1(QueryCounters counters) throws Exception {
+    return measure(counters, () -> orderApi.ordersV1());
+  }
+
+  // 엔티티 -> DTO, 지연 로딩 (N + 1)
+  @Benchmark
+  public byte[] ordersV2(QueryCounters counters) throws Exception {
+    return measure(counters, () -> orderApi.ordersV2());
+  }
+
+  // 컬렉션 fetch join
+  @Benchmark
+  public byte[] ordersV3(QueryCounters counters) throws Exception {
+    return measure(counters, () -> orderApi.ordersV3());
+  }
+
+  // ToOne fetch join + 컬렉션 batch fetch (batch size 단위 페이지로 전체 조회)
+  @Benchmark
+  public byte[] ordersV3_page(QueryCounters counters) throws Exception {
+    return measure(counters, () -> {
+      List<Object> pages = new ArrayList<>();
+      for (int offset = 0; offset < orders; offset += PAGE_SIZE) {
+        pages.add(orderApi.ordersV3_page(offset, PAGE_SIZE));
+      }
+      return pages;
+    });
+  }
+
+  // DTO 직접 조회 + 컬렉션 N번 조회
+  @Benchmark
+  public byte[] ordersV4(QueryCounters counters) throws Exception {
+    return measure(counters, () -> orderApi.ordersV4());
+  }
+
+  // DTO 직접 조회 + 컬렉션 IN 조회
+  @Benchmark
+  public byte[] ordersV5(QueryCounters counters) throws Exception {
+    return measure(counters, () -> orderApi.ordersV5());
+  }
+
+  // 플랫 조인 1번 + 애플리케이션에서 그룹핑
+  @Benchmark
+  public byte[] ordersV6(QueryCounters counters) throws Exception {
+    return measure(counters, () -> orderApi.ordersV6());
+  }
+
+  @Benchmark
+  public byte[] simpleOrdersV1(QueryCounters counters) throws Exception {
+    return measure(counters, () -> simpleOrderApi.ordersV1());
+  }
+
+  @Benchmark
+  public byte[] simpleOrdersV2(QueryCounters counters) throws Exception {
+    return measure(counters, () -> simpleOrderApi.ordersV2());
+  }
+
+  @Benchmark
+  public byte[] simpleOrdersV3(QueryCounters counters) throws Exception {
+    return measure(counters, () -> simpleOrderApi.ordersV3());
+  }
+
+  @Benchmark
+  public byte[] simpleOrdersV4(QueryCounters counters) throws Exception {
+    return measure(counters, () -> simpleOrderApi.ordersV4());
+  }
+}
@@ -0,0 +1,108 @@
+package jpabook.jpashop.api;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import jakarta.persistence.EntityManagerFactory;
+import jpabook.jpashop.cache.OrderReadCache;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+
+/*
+ * 2차 캐시 통계 조회 (캐시 크기 조정용)
+ * - 적중/실패/저장/항목 수: Hibernate 통계
+ * - 제거(eviction) 수: JCache 통계 MBean (application.conf의 monitoring.statistics)
+ */
+@RestController
+@RequiredArgsConstructor
+public class CacheStatsApiController {
+
+    private final EntityManagerFactory emf;
+    private final OrderReadCache orderReadCache;
+
+    @SuppressWarnings("rawtypes")
+    @GetMapping("/api/admin/cache-stats")
+    public Result cacheStats() {
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+
+        List<RegionStatsDto> collect = Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(region -> {
+                    CacheRegionStatistics stats = statistics.getDomainDataRegionStatistics(region);
+                    return new RegionStatsDto(region, stats.getHitCount(), stats.getMissCount(),
+                            stats.getPutCount(), evictionCount(region), stats.getElementCountInMemory());
+                })
+                .collect(Collectors.toList());
+        return new Result<>(collect);
+    }
+
+    // 주문 조회 API 응답 캐시 엔드포인트별 적중률
+    @SuppressWarnings("rawtypes")
+    @GetMapping("/api/admin/order-cache-stats")
+    public Result orderCacheStats() {
+        List<EndpointStatsDto> collect = orderReadCache.stats().entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(e -> new EndpointStatsDto(e.getKey(), e.getValue().hitCount(), e.getValue().missCount(),
+                        e.getValue().hitRate(), e.getValue().evictionCount()))
+                .collect(Collectors.toList());
+        return new Result<>(collect);
+    }
+
+    private long evictionCount(String region) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            Set<ObjectName> names = server.queryNames(new ObjectName("javax.cache:type=CacheStatistics,*"), null);
+            long evictions = 0;
+            for (ObjectName name : names) {
+                if (region.equals(name.getKeyProperty("Cache"))) {
+                    evictions += ((Number) server.getAttribute(name, "CacheEvictions")).longValue();
+                }
+            }
+            return evictions;
+        } catch (JMException e) {
+            return -1;
+        }
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class Result<T> {
+        private T data;
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class RegionStatsDto {
+        private String region;
+        private long hitCount;
+        private long missCount;
+        private long putCount;
+        private long evictionCount;
+        private long elementCount;
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class EndpointStatsDto {
+        private String endpoint;
+        private long hitCount;
+        private long missCount;
+        private double hitRate;
+        private long evictionCount;
+    }
+}
@@ -0,0 +1,78 @@
+package jpabook.jpashop.api;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import jpabook.jpashop.monitoring.SqlBudget;
+import jpabook.jpashop.service.ItemSalesAggregator;
+import jpabook.jpashop.service.query.ItemSalesReportService;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+
+/*
+ * 상품별 판매 리포트 (item_daily_sales 집계 테이블 조회)
+ * - 기간(from ~ to, yyyy-MM-dd) 조회 비용은 주문 수가 아닌 일수에 비례, from이 to보다 늦으면 400
+ * - 집계 재생성: 주문 상품에서 다시 계산 (복구용, 주문이 없을 때 실행)
+ */
+@RestController
+@RequiredArgsConstructor
+public class ItemSalesReportApiController {
+
+    private final ItemSalesReportService itemSalesReportService;
+    private final ItemSalesAggregator itemSalesAggregator;
+
+    // 일별, 상품별 판매 수량과 매출 (SQL: 집계 + 미반영 변경분 1)
+    @SqlBudget(1)
+    @SuppressWarnings("rawtypes")
+    @GetMapping("/api/reports/item-sales/daily")
+    public Result dailySales(@RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "itemId", required = false) Long itemId) {
+        checkPeriod(from, to);
+        List<ItemSalesReportService.DailySalesDto> collect = itemSalesReportService.findDailySales(from, to, itemId);
+        return new Result<>(collect);
+    }
+
+    // 기간 상품별 합계와 재고 회전율 (SQL: 집계 + 미반영 변경분 1 + 상품 1 + 판매 가능 재고 1)
+    @SqlBudget(3)
+    @SuppressWarnings("rawtypes")
+    @GetMapping("/api/reports/item-sales/summary")
+    public Result summary(@RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        checkPeriod(from, to);
+        List<ItemSalesReportService.ItemSalesSummaryDto> collect = itemSalesReportService.findSummary(from, to);
+        return new Result<>(collect);
+    }
+
+    private static void checkPeriod(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "조회 시작일이 종료일보다 늦습니다.");
+        }
+    }
+
+    @PostMapping("/api/admin/item-sales/rebuild")
+    public RebuildResponse rebuild() {
+        return new RebuildResponse(itemSalesAggregator.rebuild());
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class Result<T> {
+        private T data;
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class RebuildResponse {
+        private int rows;
+    }
+}
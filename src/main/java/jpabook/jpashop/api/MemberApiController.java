@@ -8,6 +8,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import jakarta.validation.Valid;
@@ -120,4 +121,16 @@ public class MemberApiController {
         private Long id;
         private String name;
     }
+
+    // 이름 gram 백필: member_name_gram 도입 전 가입한 회원도 주문 검색(회원 이름)에 포함되도록
+    @PostMapping("/api/admin/member-name-grams/backfill")
+    public BackfillResponse backfillNameGrams(@RequestParam(value = "batchSize", defaultValue = "1000") int batchSize) {
+        return new BackfillResponse(memberService.backfillNameGrams(batchSize));
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class BackfillResponse {
+        private int updated;
+    }
 }
@@ -1,20 +1,47 @@
 package jpabook.jpashop.api;
 
-import java.time.LocalDateTime;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
-import jpabook.jpashop.domain.Address;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jpabook.jpashop.cache.OrderReadCache;
+import jpabook.jpashop.cache.SingleFlight;
 import jpabook.jpashop.domain.Order;
-import jpabook.jpashop.domain.OrderItem;
-import jpabook.jpashop.domain.OrderStatus;
-import jpabook.jpashop.repository.OrderRepository;
+import jpabook.jpashop.monitoring.DtoAssemblyEvent;
+import jpabook.jpashop.monitoring.SqlBudget;
+import jpabook.jpashop.repository.OrderFetchPlan;
 import jpabook.jpashop.repository.OrderSearch;
 import jpabook.jpashop.repository.order.query.*;
+import jpabook.jpashop.service.OrderService;
+import jpabook.jpashop.service.query.OrderDto;
+import jpabook.jpashop.service.query.OrderQueryService;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
@@ -23,22 +50,30 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class OrderApiController {
 
-    private final OrderRepository orderRepository;
+    // 한 번에 조회할 수 있는 최대 주문 수
+    static final int MAX_LIMIT = 1000;
+
+    private final OrderQueryService orderQueryService;
     private final OrderQueryRepository orderQueryRepository;
+    private final ObjectMapper objectMapper;
+    private final OrderService orderService;
+    private final OrderReadCache orderReadCache;
+    private final SingleFlight singleFlight;
+
+    // 컬렉션 batch fetch(v3.1)의 SQL 예산은 한 페이지가 IN 조회 한 번에 들어갈 때만 성립하므로 limit 상한으로 사용
+    @Value("${spring.jpa.properties.hibernate.default_batch_fetch_size:100}")
+    private int batchFetchSize;
 
     // 엔티티 조회: 권장
     // 주문 v1: 엔티티 직접 노출
     // Hibernate5 모듈과 @JsonIgnore 사용하여 무한 루프 제한
+    // 직렬화하는 연관관계(배송, 주문 상품, 상품)는 fetch plan ITEMS로 조회: 주문 id 1 + 그래프 1
+    @SqlBudget(2)
     @SuppressWarnings("rawtypes")
     @GetMapping("/api/v1/orders")
     public Result ordersV1() {
-        List<Order> orders = orderRepository.findAll(new OrderSearch());
-        for (Order order : orders) {
-            order.getMember().getName();
-            order.getDelivery().getAddress();
-            List<OrderItem> orderItems = order.getOrderItems();
-            orderItems.stream().forEach(o -> o.getItem().getName());
-        }
+        // OSIV OFF: 지연 로딩 초기화는 서비스 트랜잭션 안에서 진행
+        List<Order> orders = orderQueryService.findOrdersWithGraph();
         return new Result<>(orders);
     }
 
@@ -46,64 +81,172 @@ public class OrderApiController {
     @SuppressWarnings("rawtypes")
     @GetMapping("/api/v2/orders")
     public Result ordersV2() {
-        List<Order> orders = orderRepository.findAll(new OrderSearch());
-        List<OrderDto> collect = orders.stream()
-                .map(o -> new OrderDto(o))
-                .collect(Collectors.toList());
+        List<OrderDto> collect = orderQueryService.findOrders();
         return new Result<>(collect);
     }
 
     // 주문 v3: fetch join 후 DTO 감싸기
     // 단점: 페이징 불가
     // 강제 페이징 시 우선 모든 쿼리를 진행하여 메모리에 적재 후 메모리 내에서 페이징 진행
+    @SqlBudget(1)
     @SuppressWarnings("rawtypes")
     @GetMapping("/api/v3/orders")
     public Result ordersV3() {
-        List<Order> orders = orderRepository.findAllWithItem();
-
-        // for (Order order : orders) {
-        // System.out.println("Order ref=" + order + " id=" + order.getId());
-        // }
-
-        List<OrderDto> collect = orders.stream()
-                .map(o -> new OrderDto(o))
-                .collect(Collectors.toList());
+        List<OrderDto> collect = orderQueryService.findOrdersWithItem();
         return new Result<>(collect);
     }
 
+    /**
+     * 주문 v3.2: 컬렉션 fetch join + 페이징 (2단계 조회)
+     * - 주문 id만 페이징해서 조회한 뒤, 그 id의 주문만 주문 상품/상품까지 fetch join
+     * - 메모리 페이징 없이 페이지 크기만큼만 조회하므로 주문 수와 무관하게 메모리, 응답 크기가 일정
+     * - SQL 예산: 주문 id 1 + fetch join 1 + 전체 개수 1
+     */
+    @SqlBudget(3)
+    @SuppressWarnings("rawtypes")
+    @GetMapping("/api/v3.2/orders")
+    public PageResult ordersV3_2(@PageableDefault(size = 100) Pageable pageable) {
+        Page<OrderDto> page = orderQueryService.findOrdersWithItem(pageable);
+        return new PageResult<>(page.getContent(), page.getNumber(), page.getSize(), page.getTotalElements(),
+                page.getTotalPages());
+    }
+
     /**
      * 주문 v3.1: 엔티티를 조회해서 DTO로 변환 (페이징 고려)
      * - ToOne 관계만 우선 모두 페치 조인으로 최적화: Batch size만큼 IN 쿼리로 조회
      * - 쿼리 수: N + 1 -> 1 + 1로 감소
      * - 컬렉션 관계는 hibernate.default_batch_fetch_size (전역), @BatchSize(개별)로 최적화
+     * - SQL 예산: 주문 1 + 주문 상품 IN 1 + 상품 IN 1
+     *   limit은 batch size 이하로 제한, 한 페이지의 상품 종류가 batch size를 넘으면 상품 IN이 추가되어 위반으로 기록
+     * - 음수 offset, 1..batch size 범위를 벗어난 limit은 400
      */
+    @SqlBudget(3)
     @SuppressWarnings("rawtypes")
     @GetMapping("/api/v3.1/orders")
     public Result ordersV3_page(@RequestParam(value = "offset", defaultValue = "0") int offset,
             @RequestParam(value = "limit", defaultValue = "100") int limit) {
 
-        List<Order> orders = orderRepository.findAllWithMemberDelivery(offset, limit);
-
-        List<OrderDto> collect = orders.stream()
-                .map(o -> new OrderDto(o))
-                .collect(Collectors.toList());
+        checkOffset(offset);
+        checkLimit(limit, batchFetchSize);
+        List<OrderDto> collect = orderQueryService.findOrdersWithMemberDelivery(offset, limit);
         return new Result<>(collect);
     }
 
+    /**
+     * 주문 v3.1 (cursor): offset 대신 커서 기반(keyset) 페이징
+     * - cursor 파라미터가 있으면 이 메서드로 매핑 (첫 페이지는 cursor= 빈 값)
+     * - where o.id > :lastOrderId order by o.id 로 조회하므로 페이지 깊이와 무관하게 일정한 성능
+     * - 응답의 nextCursor를 다음 요청의 cursor로 전달, 마지막 페이지면 null
+     * - SQL 예산은 v3.1과 같음 (limit은 batch size 이하)
+     * - 잘못된 커서, 1..batch size 범위를 벗어난 limit은 400
+     */
+    @SqlBudget(3)
+    @SuppressWarnings("rawtypes")
+    @GetMapping(value = "/api/v3.1/orders", params = "cursor")
+    public CursorResult ordersV3_cursor(@RequestParam("cursor") String cursor,
+            @RequestParam(value = "limit", defaultValue = "100") int limit) {
+
+        checkLimit(limit, batchFetchSize);
+        List<OrderDto> collect = orderQueryService.findOrdersWithMemberDeliveryAfter(decodeCursor(cursor), limit);
+
+        String nextCursor = collect.size() < limit ? null : encodeCursor(collect.get(collect.size() - 1).getOrderId());
+        return new CursorResult<>(collect, nextCursor);
+    }
+
+    // 커서는 클라이언트가 의미를 갖지 않도록 order_id를 인코딩한 불투명 토큰으로 전달
+    private static String encodeCursor(Long orderId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(orderId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            // Base64 디코딩 실패, 숫자가 아닌 값(NumberFormatException) 모두 클라이언트 오류
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "잘못된 커서입니다.", e);
+        }
+    }
+
+    private static void checkOffset(int offset) {
+        if (offset < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "offset은 0 이상이어야 합니다.");
+        }
+    }
+
+    private static void checkLimit(int limit) {
+        checkLimit(limit, MAX_LIMIT);
+    }
+
+    private static void checkLimit(int limit, int max) {
+        if (limit < 1 || limit > max) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit은 1 이상 " + max + " 이하여야 합니다.");
+        }
+    }
+
     // DTO 조회
     // 주문 v4: JPA에서 DTO 직접 조회
+    // 대시보드 반복 조회 대비 응답 캐시 사용 (주문 생성/취소 커밋 시 무효화)
     @SuppressWarnings("rawtypes")
     @GetMapping("/api/v4/orders")
     public Result ordersV4() {
-        return new Result<>(orderQueryRepository.findOrderQueryDtos());
+        return new Result<>(orderReadCache.get("/api/v4/orders", () -> orderQueryRepository.findOrderQueryDtos()));
     }
 
     // 주문 v5: 컬렉션 조회 최적화
     // 1:N 관계 컬렉션은 IN 구문을 사용하여 메모리에 미리 조회해서 최적화
+    // 캐시 미스 시 동시에 들어온 요청은 하나의 조회 결과를 함께 사용
     @SuppressWarnings("rawtypes")
     @GetMapping("/api/v5/orders")
     public Result ordersV5() {
-        return new Result<>(orderQueryRepository.findAllByDto_optimized());
+        return new Result<>(orderReadCache.getShared("/api/v5/orders", () -> orderQueryRepository.findAllByDto_optimized()));
+    }
+
+    /**
+     * 주문 v7: 주문 검색 + fetch plan
+     * - 응답(OrderDto)에 필요한 그래프(회원, 배송, 주문 상품, 상품)를 OrderFetchPlan.ITEMS로 지정
+     * - 화면마다 레포지토리 메서드를 만들지 않고 Order의 @NamedEntityGraph를 선택
+     * - SQL 예산: 주문 id 1 + 그래프 1
+     */
+    @SqlBudget(2)
+    @SuppressWarnings("rawtypes")
+    @GetMapping("/api/v7/orders")
+    public Result ordersV7(@ModelAttribute OrderSearch orderSearch) {
+        List<OrderDto> collect = orderQueryService.searchOrders(orderSearch, OrderFetchPlan.ITEMS);
+        return new Result<>(collect);
+    }
+
+    /**
+     * 주문 v5 (fields): 요청한 필드만 조회 (?fields=orderId,orderStatus,totalPrice)
+     * - fields 파라미터가 있으면 이 메서드로 매핑 (빈 값이면 전체 필드)
+     * - 필드: orderId, name, orderDate, orderStatus, address, totalPrice, orderItems
+     * - 요청한 컬럼만 조회하고 필요한 조인만 추가, orderItems를 요청하지 않으면 주문 상품 조회 생략
+     * - 응답도 요청한 필드만 포함하므로 DB에서 읽는 양과 응답 크기가 요청한 필드에 비례
+     * - SQL 예산: 주문 1 + 주문 상품 IN 1 (limit이 in-chunk-size 이하일 때)
+     * - 지원하지 않는 필드, 음수 offset, 1..MAX_LIMIT 범위를 벗어난 limit은 400
+     */
+    @SqlBudget(2)
+    @SuppressWarnings("rawtypes")
+    @GetMapping(value = "/api/v5/orders", params = "fields")
+    public Result ordersV5_fields(@RequestParam("fields") String fields,
+            @RequestParam(value = "offset", defaultValue = "0") int offset,
+            @RequestParam(value = "limit", defaultValue = "100") int limit) {
+        checkOffset(offset);
+        checkLimit(limit);
+
+        List<OrderFieldsDto> collect = orderQueryRepository.findOrderFields(parseFields(fields), offset, limit);
+        return new Result<>(collect);
+    }
+
+    private static Set<OrderField> parseFields(String fields) {
+        try {
+            return OrderField.parse(fields);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
     }
 
     /*
@@ -114,13 +257,17 @@ public class OrderApiController {
      * - 상황에 따라 V5 보다 더 느릴 수도 있다.
      * - 애플리케이션에서 추가 작업이 크다.
      * - 페이징 불가능
+     * 동시에 들어온 요청은 하나의 조회 결과를 함께 사용 (조회 결과는 읽기만 함)
      */
+    @SqlBudget(1)
     @SuppressWarnings("rawtypes")
     @GetMapping("/api/v6/orders")
     public Result ordersV6() {
-        List<OrderFlatDto> flats = orderQueryRepository.findAllByDto_flat();
+        List<OrderFlatDto> flats = singleFlight.execute("/api/v6/orders",
+                () -> orderQueryRepository.findAllByDto_flat());
 
-        return new Result<>(flats.stream()
+        DtoAssemblyEvent event = DtoAssemblyEvent.start("ordersV6", "assemble");
+        List<OrderQueryDto> orders = flats.stream()
                 .collect(Collectors.groupingBy(
                         o -> new OrderQueryDto(o.getOrderId(), o.getName(), o.getOrderDate(), o.getOrderStatus(),
                                 o.getAddress()),
@@ -130,49 +277,72 @@ public class OrderApiController {
                 .map(e -> new OrderQueryDto(e.getKey().getOrderId(),
                         e.getKey().getName(), e.getKey().getOrderDate(), e.getKey().getOrderStatus(),
                         e.getKey().getAddress(), e.getValue()))
-                .collect(Collectors.toList()));
+                .collect(Collectors.toList());
+        event.end(orders.size(), flats.size());
+
+        return new Result<>(orders);
     }
 
-    @Data
-    static class OrderDto {
-
-        private Long orderId;
-        private String name;
-        private LocalDateTime orderDate;
-        private OrderStatus orderStatus;
-        private Address address;
-        private List<OrderItemDto> orderItems;
-
-        public OrderDto(Order order) {
-            orderId = order.getId();
-            name = order.getMember().getName();
-            orderDate = order.getOrderDate();
-            orderStatus = order.getStatus();
-            address = order.getDelivery().getAddress();
-
-            // DTO 내부에서 엔티티에 접근: 외부에 엔티티의 모든 정보가 노출됨
-            // order.getOrderItems().stream().forEach(o -> o.getItem().getName());
-            // orderItems = order.getOrderItems();
-
-            // DTO 내부에서 엔티티를 DTO로 감싸서 반환
-            orderItems = order.getOrderItems().stream()
-                    .map(orderItem -> new OrderItemDto(orderItem))
-                    .collect(Collectors.toList());
+    /*
+     * 주문 v6.1: 플랫 데이터 스트리밍
+     * - o.id 순으로 JOIN 결과를 한 행씩 읽어 주문 단위로 묶은 뒤 곧바로 응답에 JSON으로 기록
+     * - v6와 응답 형태는 같지만 결과 전체를 메모리에 올리지 않고 주문 순서가 유지됨
+     * - 응답을 쓰는 동안 DB 커넥션을 사용하므로 대량 export 용도로 사용
+     */
+    @GetMapping("/api/v6.1/orders")
+    public void ordersV6_stream(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+
+        try (JsonGenerator generator = objectMapper.createGenerator(response.getOutputStream())) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("data");
+            orderQueryRepository.streamAllByDto_flat(order -> {
+                try {
+                    generator.writeObject(order);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.writeEndArray();
+            generator.writeEndObject();
         }
     }
 
+    /**
+     * 주문 등록 V1: 장바구니 전체를 하나의 주문으로 생성
+     * - 같은 상품이 여러 줄로 들어오면 수량을 합침
+     */
+    @PostMapping("/api/v1/orders")
+    public CreateOrderResponse saveOrderV1(@RequestBody @Valid CreateOrderRequest request) {
+        Map<Long, Integer> itemCounts = request.getOrderItems().stream()
+                .collect(Collectors.toMap(OrderLineRequest::getItemId, OrderLineRequest::getCount, Integer::sum));
+
+        Long id = orderService.order(request.getMemberId(), itemCounts);
+        return new CreateOrderResponse(id);
+    }
+
     @Data
-    static class OrderItemDto {
+    static class CreateOrderRequest {
+        @NotNull
+        private Long memberId;
+        @NotEmpty
+        @Valid
+        private List<OrderLineRequest> orderItems;
+    }
 
-        private String itemName;
-        private int orderPrice;
+    @Data
+    static class OrderLineRequest {
+        @NotNull
+        private Long itemId;
+        @Positive
         private int count;
+    }
 
-        public OrderItemDto(OrderItem orderItem) {
-            itemName = orderItem.getItem().getName();
-            orderPrice = orderItem.getOrderPrice();
-            count = orderItem.getCount();
-        }
+    @Data
+    @AllArgsConstructor
+    static class CreateOrderResponse {
+        private Long id;
     }
 
     @Data
@@ -180,4 +350,21 @@ public class OrderApiController {
     static class Result<T> {
         private T data;
     }
+
+    @Data
+    @AllArgsConstructor
+    static class PageResult<T> {
+        private T data;
+        private int page;
+        private int size;
+        private long totalElements;
+        private int totalPages;
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class CursorResult<T> {
+        private T data;
+        private String nextCursor;
+    }
 }
@@ -1,19 +1,20 @@
 package jpabook.jpashop.api;
 
-import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.RestController;
 
-import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.cache.OrderReadCache;
 import jpabook.jpashop.domain.Order;
-import jpabook.jpashop.domain.OrderStatus;
-import jpabook.jpashop.repository.OrderRepository;
+import jpabook.jpashop.monitoring.SqlBudget;
+import jpabook.jpashop.repository.OrderFetchPlan;
 import jpabook.jpashop.repository.OrderSearch;
 import jpabook.jpashop.repository.order.simplequery.OrderSimpleQueryDto;
 import jpabook.jpashop.repository.order.simplequery.OrderSimpleQueryRepository;
+import jpabook.jpashop.service.query.OrderQueryService;
+import jpabook.jpashop.service.query.SimpleOrderDto;
 import lombok.RequiredArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -28,8 +29,9 @@ import lombok.Data;
 @RequiredArgsConstructor
 public class OrderSimpleApiController {
 
-    private final OrderRepository orderRepository;
+    private final OrderQueryService orderQueryService;
     private final OrderSimpleQueryRepository orderSimpleQueryRepository;
+    private final OrderReadCache orderReadCache;
 
     /*
      * 양방향 직접 연결 시 nTOOne(ManyToOne, OneToOne) 관계일 경우
@@ -39,7 +41,7 @@ public class OrderSimpleApiController {
      */
     @GetMapping("/api/v1/simple-orders")
     public List<Order> ordersV1() {
-        List<Order> all = orderRepository.findAll(new OrderSearch());
+        List<Order> all = orderQueryService.findSimpleOrderEntities();
         return all;
     }
 
@@ -50,19 +52,19 @@ public class OrderSimpleApiController {
         // ORDER 2개
         // 지연 로딩 시 N + 1 문제 발생
         // 주문 쿼리 1 (주문 2개 반환) + 회원 N번 조회 + 배송 N번 조회 -> 최악의 경우 총 5회의 쿼리
-        List<Order> orders = orderRepository.findAll(new OrderSearch());
-        List<SimpleOrderDto> result = orders.stream().map(o -> new SimpleOrderDto(o)).collect(Collectors.toList());
+        // OSIV OFF: 엔티티 -> DTO 변환(지연 로딩)은 서비스 트랜잭션 안에서 진행
+        List<SimpleOrderDto> result = orderQueryService.findSimpleOrders();
 
         return new Result<>(result);
     }
 
     // fetch join
     // 엔티티에 직접 접근해야하는 것이 단점
+    @SqlBudget(1)
     @SuppressWarnings("rawtypes")
     @GetMapping("/api/v3/simple-orders")
     public Result ordersV3() {
-        List<Order> orders = orderRepository.findAllWithMemberDelivery();
-        List<SimpleOrderDto> result = orders.stream().map(o -> new SimpleOrderDto(o)).collect(Collectors.toList());
+        List<SimpleOrderDto> result = orderQueryService.findSimpleOrdersWithMemberDelivery();
 
         return new Result<>(result);
     }
@@ -70,34 +72,29 @@ public class OrderSimpleApiController {
     // SQL과 같이 원하는 값을 선택하여 조회
     // createQuery 내 JPQL 문장에서 new 명령어를 사용하여 JPQL의 결과를 즉시 DTO로 변환
     // 약간의 최적화가 가능하나, 레포지토리 재사용성이 떨어지며 API 스펙에 맞춰 레포지토리 코드가 작성됨
+    @SqlBudget(1)
     @SuppressWarnings("rawtypes")
     @GetMapping("/api/v4/simple-orders")
     public Result ordersV4() {
-        List<OrderSimpleQueryDto> orderSimpleQueryDtos = orderSimpleQueryRepository.findOrderDtos();
+        List<OrderSimpleQueryDto> orderSimpleQueryDtos = orderReadCache.get("/api/v4/simple-orders",
+                () -> orderSimpleQueryRepository.findOrderDtos());
         return new Result<>(orderSimpleQueryDtos);
     }
 
+    // 주문 검색 + fetch plan: 응답(SimpleOrderDto)에 필요한 회원, 배송만 그래프로 조회
+    @SqlBudget(1)
+    @SuppressWarnings("rawtypes")
+    @GetMapping("/api/v7/simple-orders")
+    public Result ordersV7(@ModelAttribute OrderSearch orderSearch) {
+        List<SimpleOrderDto> result = orderQueryService.searchSimpleOrders(orderSearch,
+                OrderFetchPlan.MEMBER_DELIVERY);
+        return new Result<>(result);
+    }
+
     // Result 배열 객체로 한 번 더 감싸서 반환하기
     @Data
     @AllArgsConstructor
     static class Result<T> {
         private T data;
     }
-
-    @Data
-    static class SimpleOrderDto {
-        private Long orderId;
-        private String name;
-        private LocalDateTime orderDate;
-        private OrderStatus orderStatus;
-        private Address address;
-
-        public SimpleOrderDto(Order order) {
-            orderId = order.getId();
-            name = order.getMember().getName(); // LAZY 초기화
-            orderDate = order.getOrderDate();
-            orderStatus = order.getStatus();
-            address = order.getDelivery().getAddress(); // LAZY 초기화
-        }
-    }
 }
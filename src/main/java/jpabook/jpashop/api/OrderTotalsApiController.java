@@ -0,0 +1,49 @@
+package jpabook.jpashop.api;
+
+import java.util.List;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import jpabook.jpashop.service.OrderTotalsService;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+
+/*
+ * 주문 비정규화 컬럼(total_price, item_count) 관리
+ * - 백필: 컬럼 추가 전 주문을 주문 상품 합계로 다시 계산
+ * - 정합성 확인: 컬럼 값과 주문 상품 합계가 다른 주문 (비어 있으면 정상)
+ */
+@RestController
+@RequiredArgsConstructor
+public class OrderTotalsApiController {
+
+    private final OrderTotalsService orderTotalsService;
+
+    @PostMapping("/api/admin/order-totals/backfill")
+    public BackfillResponse backfill(@RequestParam(value = "batchSize", defaultValue = "1000") int batchSize) {
+        return new BackfillResponse(orderTotalsService.backfill(batchSize));
+    }
+
+    @SuppressWarnings("rawtypes")
+    @GetMapping("/api/admin/order-totals/drift")
+    public Result drift(@RequestParam(value = "limit", defaultValue = "100") int limit) {
+        List<OrderTotalsService.Drift> collect = orderTotalsService.findDrift(limit);
+        return new Result<>(collect);
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class BackfillResponse {
+        private int updated;
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class Result<T> {
+        private T data;
+    }
+}
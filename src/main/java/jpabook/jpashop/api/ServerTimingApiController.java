@@ -0,0 +1,84 @@
+package jpabook.jpashop.api;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import jpabook.jpashop.monitoring.LatencyHistogram;
+import jpabook.jpashop.monitoring.ServerTimingMonitor;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+
+/*
+ * API 엔드포인트별 처리 시간 구간 통계
+ * - acquire(커넥션 획득) / sql(SQL 실행) / mapping(하이드레이션, DTO 변환) / serialization(JSON 직렬화) / total
+ * - 구간마다 평균, p50, p99, 최대 (밀리초)
+ */
+@RestController
+@RequiredArgsConstructor
+public class ServerTimingApiController {
+
+    private final ServerTimingMonitor serverTimingMonitor;
+
+    @SuppressWarnings("rawtypes")
+    @GetMapping("/api/admin/server-timing")
+    public Result serverTiming() {
+        List<EndpointTimingDto> collect = serverTimingMonitor.snapshot().entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(e -> new EndpointTimingDto(e.getKey(), e.getValue()))
+                .collect(Collectors.toList());
+        return new Result<>(collect);
+    }
+
+    @DeleteMapping("/api/admin/server-timing")
+    public void resetServerTiming() {
+        serverTimingMonitor.reset();
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class Result<T> {
+        private T data;
+    }
+
+    @Data
+    static class EndpointTimingDto {
+        private String endpoint;
+        private long count;
+        private PhaseDto acquire;
+        private PhaseDto sql;
+        private PhaseDto mapping;
+        private PhaseDto serialization;
+        private PhaseDto total;
+
+        public EndpointTimingDto(String endpoint, ServerTimingMonitor.EndpointTimings timings) {
+            this.endpoint = endpoint;
+            count = timings.getTotal().count();
+            acquire = new PhaseDto(timings.getAcquire());
+            sql = new PhaseDto(timings.getSql());
+            mapping = new PhaseDto(timings.getMapping());
+            serialization = new PhaseDto(timings.getSerialization());
+            total = new PhaseDto(timings.getTotal());
+        }
+    }
+
+    @Data
+    static class PhaseDto {
+        private double meanMs;
+        private double p50Ms;
+        private double p99Ms;
+        private double maxMs;
+
+        public PhaseDto(LatencyHistogram histogram) {
+            meanMs = histogram.meanMillis();
+            p50Ms = histogram.percentileMillis(0.50);
+            p99Ms = histogram.percentileMillis(0.99);
+            maxMs = histogram.maxNanos() / 1_000_000.0;
+        }
+    }
+}
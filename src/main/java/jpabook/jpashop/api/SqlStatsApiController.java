@@ -0,0 +1,126 @@
+package jpabook.jpashop.api;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import jpabook.jpashop.monitoring.LatencyHistogram;
+import jpabook.jpashop.monitoring.SqlStatementMonitor;
+import jpabook.jpashop.monitoring.SqlStatistics;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+
+/*
+ * SQL 실행 통계 조회
+ * - SQL 모양(리터럴, IN 목록 정규화)별 실행 수, 총/평균/백분위 지연 시간, 조회 행 수
+ * - SQL 예산 초과, N + 1 의심 횟수 (요청 URL 패턴 / @Transactional 메서드별)
+ */
+@RestController
+@RequiredArgsConstructor
+public class SqlStatsApiController {
+
+    private final SqlStatementMonitor sqlStatementMonitor;
+    private final SqlStatistics sqlStatistics;
+
+    /**
+     * SQL 모양별 통계
+     * - sort: total(총 시간, 기본) / count / mean / p99 / rows
+     * - 지원하지 않는 sort, 음수 limit은 400
+     */
+    @SuppressWarnings("rawtypes")
+    @GetMapping("/api/admin/sql-stats")
+    public Result sqlStats(@RequestParam(value = "sort", defaultValue = "total") String sort,
+            @RequestParam(value = "limit", defaultValue = "50") int limit) {
+        if (limit < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit은 0 이상이어야 합니다.");
+        }
+        List<SqlStatsDto> collect = sqlStatistics.snapshot().entrySet().stream()
+                .map(e -> new SqlStatsDto(e.getKey(), e.getValue()))
+                .sorted(comparator(sort).reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+        return new Result<>(collect);
+    }
+
+    @DeleteMapping("/api/admin/sql-stats")
+    public void resetSqlStats() {
+        sqlStatistics.reset();
+    }
+
+    private static Comparator<SqlStatsDto> comparator(String sort) {
+        switch (sort) {
+            case "count":
+                return Comparator.comparingLong(SqlStatsDto::getCount);
+            case "mean":
+                return Comparator.comparingDouble(SqlStatsDto::getMeanMs);
+            case "p99":
+                return Comparator.comparingDouble(SqlStatsDto::getP99Ms);
+            case "rows":
+                return Comparator.comparingLong(SqlStatsDto::getRows);
+            case "total":
+                return Comparator.comparingDouble(SqlStatsDto::getTotalMs);
+            default:
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "지원하지 않는 정렬입니다: " + sort);
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    @GetMapping("/api/admin/sql-budget-violations")
+    public Result sqlBudgetViolations() {
+        List<ViolationDto> collect = sqlStatementMonitor.violations().entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .map(e -> new ViolationDto(e.getKey(), e.getValue()))
+                .collect(Collectors.toList());
+        return new Result<>(collect);
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class Result<T> {
+        private T data;
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class ViolationDto {
+        private String scope;
+        private long count;
+    }
+
+    @Data
+    static class SqlStatsDto {
+        private String fingerprint;
+        private long count;
+        private double totalMs;
+        private double meanMs;
+        private double p50Ms;
+        private double p95Ms;
+        private double p99Ms;
+        private double maxMs;
+        private long rows;
+        private long errors;
+
+        public SqlStatsDto(String fingerprint, SqlStatistics.Stats stats) {
+            LatencyHistogram latency = stats.getLatency();
+            this.fingerprint = fingerprint;
+            count = latency.count();
+            totalMs = latency.totalNanos() / 1_000_000.0;
+            meanMs = latency.meanMillis();
+            p50Ms = latency.percentileMillis(0.50);
+            p95Ms = latency.percentileMillis(0.95);
+            p99Ms = latency.percentileMillis(0.99);
+            maxMs = latency.maxNanos() / 1_000_000.0;
+            rows = stats.getRows().sum();
+            errors = stats.getErrors().sum();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package jpabook.jpashop.cache;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import jpabook.jpashop.service.OrderChangedEvent;
+
+/**
+ * 주문 조회 API 응답 캐시
+ * - 엔드포인트별 캐시 + 요청 파라미터 키, 최대 크기와 TTL 제한
+ * - 주문 생성/취소 트랜잭션의 커밋 직전과 직후에 전체 무효화
+ * - 조회 도중 무효화가 일어나면 조회 결과를 저장하지 않으므로 마지막 커밋 이전 데이터가 남지 않음
+ * - getShared: 캐시가 비어 있을 때 같은 세대의 동시 요청은 조회 한 번만 실행 (single-flight)
+ */
+@Component
+public class OrderReadCache {
+
+    private final Map<String, Cache<Object, Object>> caches = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final SingleFlight singleFlight;
+
+    @Value("${jpashop.order-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${jpashop.order-cache.maximum-size:100}")
+    private long maximumSize;
+
+    @Value("${jpashop.order-cache.ttl:30s}")
+    private Duration ttl;
+
+    public OrderReadCache(SingleFlight singleFlight) {
+        this.singleFlight = singleFlight;
+    }
+
+    public <T> T get(String endpoint, Supplier<T> loader) {
+        return get(endpoint, "", loader);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(String endpoint, Object key, Supplier<T> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        Cache<Object, Object> cache = caches.computeIfAbsent(endpoint, e -> newCache());
+        Object cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return (T) cached;
+        }
+
+        long loadedAt = generation.get();
+        T value = loader.get();
+        putIfCurrent(cache, key, value, loadedAt);
+        return value;
+    }
+
+    public <T> T getShared(String endpoint, Supplier<T> loader) {
+        return getShared(endpoint, "", loader);
+    }
+
+    /*
+     * 캐시 + single-flight
+     * - 합류한 요청은 자신이 조회하지 않으므로 조회를 시작한 요청의 세대를 기준으로 저장 여부를 판단해야 함
+     * - single-flight 키에 세대를 포함: 무효화 이후 들어온 요청은 이전 세대의 조회에 합류하지 않고 새로 조회
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getShared(String endpoint, Object key, Supplier<T> loader) {
+        if (!enabled) {
+            return singleFlight.execute(new FlightKey(endpoint, key, -1), loader);
+        }
+
+        Cache<Object, Object> cache = caches.computeIfAbsent(endpoint, e -> newCache());
+        Object cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return (T) cached;
+        }
+
+        long loadedAt = generation.get();
+        T value = singleFlight.execute(new FlightKey(endpoint, key, loadedAt), loader);
+        putIfCurrent(cache, key, value, loadedAt);
+        return value;
+    }
+
+    public Map<String, CacheStats> stats() {
+        Map<String, CacheStats> stats = new ConcurrentHashMap<>();
+        caches.forEach((endpoint, cache) -> stats.put(endpoint, cache.stats()));
+        return stats;
+    }
+
+    // 커밋 직전: 커밋 중에 캐시된 이전 데이터가 응답되지 않도록
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void beforeOrderCommit(OrderChangedEvent event) {
+        invalidateAll();
+    }
+
+    // 커밋 직후: 커밋 중에 조회되어 캐시된 데이터 제거
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void afterOrderCommit(OrderChangedEvent event) {
+        invalidateAll();
+    }
+
+    // 조회를 시작한 세대가 현재 세대일 때만 저장, 저장하는 동안 주문이 변경되었다면 이전 데이터일 수 있으므로 제거
+    private void putIfCurrent(Cache<Object, Object> cache, Object key, Object value, long loadedAt) {
+        if (generation.get() != loadedAt) {
+            return;
+        }
+        cache.put(key, value);
+        if (generation.get() != loadedAt) {
+            cache.invalidate(key);
+        }
+    }
+
+    private void invalidateAll() {
+        generation.incrementAndGet();
+        caches.values().forEach(Cache::invalidateAll);
+    }
+
+    private Cache<Object, Object> newCache() {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    private record FlightKey(String endpoint, Object key, long generation) {
+    }
+}
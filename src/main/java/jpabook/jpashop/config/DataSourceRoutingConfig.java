@@ -0,0 +1,40 @@
+package jpabook.jpashop.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import jpabook.jpashop.datasource.ReadWriteDataSources;
+import jpabook.jpashop.datasource.ReadWriteRoutingDataSource;
+import jpabook.jpashop.datasource.ReplicaDataSourceProperties;
+
+/**
+ * 읽기/쓰기 DataSource 분리 (jpashop.datasource.routing.enabled=true 일 때만)
+ * - 설정하지 않으면 기존처럼 spring.datasource 하나만 사용
+ * - primary/복제본 풀은 빈으로 등록하지 않음 (p6spy가 라우팅 DataSource만 한 번 감싸도록)
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "jpashop.datasource.routing", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+public class DataSourceRoutingConfig {
+
+    @Bean
+    ReadWriteDataSources readWriteDataSources(DataSourceProperties dataSourceProperties,
+            ReplicaDataSourceProperties replicaProperties, Environment environment) {
+        return new ReadWriteDataSources(dataSourceProperties, replicaProperties, Binder.get(environment));
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(ReadWriteDataSources readWriteDataSources) {
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(readWriteDataSources));
+    }
+}
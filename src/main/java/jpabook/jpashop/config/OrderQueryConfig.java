@@ -0,0 +1,42 @@
+package jpabook.jpashop.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class OrderQueryConfig {
+
+    /**
+     * 주문 조회 IN 쿼리 병렬 실행용 스레드 풀
+     * - 작업마다 별도의 읽기 전용 트랜잭션(커넥션)을 사용하므로
+     * - 풀 크기는 DB 커넥션 풀보다 충분히 작게 유지해야 함
+     * - 대기 큐는 queue-capacity로 제한, 가득 차면 호출 스레드가 직접 실행 (호출 스레드는 커넥션을 쥐고 있지 않음)
+     * 가상 스레드 모드(spring.threads.virtual.enabled, Java 21 이상)에서는
+     * 작업마다 가상 스레드를 만들고 동시 실행 수만 parallelism으로 제한
+     */
+    @Bean
+    TaskExecutor orderQueryExecutor(@Value("${jpashop.order-query.parallelism:4}") int parallelism,
+            @Value("${jpashop.order-query.queue-capacity:64}") int queueCapacity,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("order-query-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(parallelism);
+            return executor;
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("order-query-");
+        return executor;
+    }
+}
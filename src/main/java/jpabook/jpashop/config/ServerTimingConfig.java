@@ -0,0 +1,45 @@
+package jpabook.jpashop.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import jpabook.jpashop.monitoring.ServerTimingFilter;
+import jpabook.jpashop.monitoring.ServerTimingInterceptor;
+import jpabook.jpashop.monitoring.ServerTimingMonitor;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * API 요청 처리 시간 구간 측정 (ServerTimingMonitor)
+ * - 필터: /api/** 요청 전체를 측정 범위로 열고 닫음 (SQL 실행 수 집계 필터 다음)
+ * - 인터셉터: 핸들러의 URL 패턴 지정
+ * - expose-header=true 이면 응답에 Server-Timing 헤더 추가 (응답 본문 버퍼링 비용이 있으므로 기본 off)
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "jpashop.server-timing", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+@RequiredArgsConstructor
+public class ServerTimingConfig implements WebMvcConfigurer {
+
+    private final ServerTimingMonitor serverTimingMonitor;
+
+    @Bean
+    FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(
+            @Value("${jpashop.server-timing.expose-header:false}") boolean exposeHeader) {
+        FilterRegistrationBean<ServerTimingFilter> registration =
+                new FilterRegistrationBean<>(new ServerTimingFilter(serverTimingMonitor, exposeHeader));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ServerTimingInterceptor(serverTimingMonitor)).addPathPatterns("/api/**");
+    }
+}
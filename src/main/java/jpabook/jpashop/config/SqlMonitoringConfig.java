@@ -0,0 +1,38 @@
+package jpabook.jpashop.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import jpabook.jpashop.monitoring.SqlBudgetFilter;
+import jpabook.jpashop.monitoring.SqlBudgetInterceptor;
+import jpabook.jpashop.monitoring.SqlStatementMonitor;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 요청별 SQL 실행 수 집계 (SqlStatementMonitor)
+ * - 필터: 요청 전체를 범위로 열고 닫음 (동시 요청 제한 필터 다음)
+ * - 인터셉터: 핸들러의 URL 패턴과 @SqlBudget 지정
+ */
+@Configuration
+@RequiredArgsConstructor
+public class SqlMonitoringConfig implements WebMvcConfigurer {
+
+    private final SqlStatementMonitor sqlStatementMonitor;
+
+    @Bean
+    FilterRegistrationBean<SqlBudgetFilter> sqlBudgetFilter() {
+        FilterRegistrationBean<SqlBudgetFilter> registration =
+                new FilterRegistrationBean<>(new SqlBudgetFilter(sqlStatementMonitor));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new SqlBudgetInterceptor(sqlStatementMonitor));
+    }
+}
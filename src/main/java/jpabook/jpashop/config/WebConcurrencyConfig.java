@@ -0,0 +1,31 @@
+package jpabook.jpashop.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import jpabook.jpashop.web.ConcurrencyLimitFilter;
+
+/**
+ * 동시 요청 제한 필터 등록 (jpashop.web.concurrency-limit.enabled=true 일 때만)
+ * - 가상 스레드 모드(application-virtual.yml)에서 사용
+ * - 허용 수는 DB 커넥션 풀 크기에 맞춰 설정 (요청 대부분이 JDBC 대기)
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "jpashop.web.concurrency-limit", name = "enabled", havingValue = "true")
+public class WebConcurrencyConfig {
+
+    @Bean
+    FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            @Value("${jpashop.web.concurrency-limit.max-concurrent-requests:20}") int maxConcurrentRequests,
+            @Value("${jpashop.web.concurrency-limit.acquire-timeout:3000}") long acquireTimeoutMillis) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(new ConcurrencyLimitFilter(maxConcurrentRequests, acquireTimeoutMillis));
+        registration.addUrlPatterns("/api/*", "/order", "/orders", "/orders/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
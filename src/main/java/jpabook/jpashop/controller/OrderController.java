@@ -2,6 +2,9 @@ package jpabook.jpashop.controller;
 
 import java.util.List;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 
@@ -48,9 +51,11 @@ public class OrderController {
     }
 
     @GetMapping("/orders")
-    public String orderList(@ModelAttribute("orderSearch") OrderSearch orderSearch, Model model) {
-        List<Order> orders = orderService.findOrders(orderSearch);
-        model.addAttribute("orders", orders);
+    public String orderList(@ModelAttribute("orderSearch") OrderSearch orderSearch,
+                            @PageableDefault(size = 20) Pageable pageable, Model model) {
+        Page<Order> page = orderService.searchOrders(orderSearch, pageable);
+        model.addAttribute("orders", page.getContent());
+        model.addAttribute("page", page);
         return "order/orderList";
     }
 
@@ -0,0 +1,215 @@
+package jpabook.jpashop.datasource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.StringUtils;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * primary / 복제본 커넥션 풀과 복제본 상태 관리
+ * - 복제본은 라운드 로빈으로 선택하고, 지연 확인을 통과한 복제본만 사용
+ * - 지연 확인은 주기적으로 실행, 사용할 수 있는 복제본이 없으면 primary로 대체
+ * - copy-primary-on-startup이면 복사가 끝날 때까지 복제본을 사용하지 않음 (그동안 읽기는 primary)
+ */
+@Slf4j
+public class ReadWriteDataSources implements AutoCloseable {
+
+    private static final String HIKARI_PREFIX = "spring.datasource.hikari";
+
+    private final HikariDataSource primary;
+    private final List<HikariDataSource> replicas = new ArrayList<>();
+    private final ReplicaDataSourceProperties properties;
+
+    // 복제본별 사용 가능 여부 (1: 사용, 0: 제외)
+    private final AtomicIntegerArray available;
+    private final AtomicInteger next = new AtomicInteger();
+    // 복제본별 지연 확인 대상 여부 (시작 시 복사하는 경우 복사에 성공한 복제본만 1)
+    private final AtomicIntegerArray ready;
+
+    public ReadWriteDataSources(DataSourceProperties primaryProperties, ReplicaDataSourceProperties properties,
+            Binder binder) {
+        this.properties = properties;
+        this.primary = primaryProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        bindHikari(primary, binder);
+        this.primary.setPoolName("primary");
+        if (properties.getPrimaryPoolSize() != null) {
+            if (binder.bind(HIKARI_PREFIX + ".maximum-pool-size", Integer.class).isBound()) {
+                throw new IllegalStateException("jpashop.datasource.primary-pool-size와 "
+                        + HIKARI_PREFIX + ".maximum-pool-size는 함께 설정할 수 없습니다.");
+            }
+            this.primary.setMaximumPoolSize(properties.getPrimaryPoolSize());
+        }
+
+        for (int i = 0; i < properties.getReplicas().size(); i++) {
+            ReplicaDataSourceProperties.Replica replica = properties.getReplicas().get(i);
+            HikariDataSource dataSource = new HikariDataSource();
+            bindHikari(dataSource, binder);
+            dataSource.setPoolName("replica-" + i);
+            dataSource.setDriverClassName(primaryProperties.determineDriverClassName());
+            dataSource.setJdbcUrl(replica.getUrl());
+            dataSource.setUsername(replica.getUsername());
+            dataSource.setPassword(replica.getPassword());
+            if (replica.getPoolSize() != null) {
+                dataSource.setMaximumPoolSize(replica.getPoolSize());
+            }
+            dataSource.setReadOnly(true);
+            replicas.add(dataSource);
+        }
+        this.available = new AtomicIntegerArray(replicas.size());
+
+        // 시작 시 복사하는 복제본은 복사가 끝날 때까지 비어 있으므로 사용 불가 상태로 시작
+        this.ready = new AtomicIntegerArray(replicas.size());
+        if (!properties.isCopyPrimaryOnStartup()) {
+            for (int i = 0; i < replicas.size(); i++) {
+                ready.set(i, 1);
+            }
+            checkReplicas();
+        }
+    }
+
+    // spring.datasource.hikari.* (풀 크기, 커넥션 타임아웃 등)를 primary와 복제본 풀에 똑같이 적용
+    private static void bindHikari(HikariDataSource dataSource, Binder binder) {
+        binder.bind(HIKARI_PREFIX, Bindable.ofInstance(dataSource));
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public List<? extends DataSource> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * 다음 읽기 대상 복제본 번호
+     * - 사용 가능한 복제본이 없으면 -1 (primary 사용)
+     */
+    public int nextReplica() {
+        int size = replicas.size();
+        if (size == 0) {
+            return -1;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            int index = (start + i) % size;
+            if (available.get(index) == 1) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    public boolean isAvailable(int replica) {
+        return available.get(replica) == 1;
+    }
+
+    // 복제 지연 확인: 지연이 max-replica-lag 이하인 복제본만 읽기 대상으로 사용
+    @Scheduled(fixedDelayString = "${jpashop.datasource.lag-check-interval:1000}")
+    public void checkReplicas() {
+        double maxLagSeconds = properties.getMaxReplicaLag().toMillis() / 1000.0;
+        for (int i = 0; i < replicas.size(); i++) {
+            if (ready.get(i) == 0) {
+                continue;
+            }
+            boolean ok;
+            try {
+                double lag = replicationLag(replicas.get(i));
+                ok = lag <= maxLagSeconds;
+                if (!ok) {
+                    log.debug("replica-{} lag {}s exceeds {}s", i, lag, maxLagSeconds);
+                }
+            } catch (SQLException | RuntimeException e) {
+                log.debug("replica-{} lag check failed", i, e);
+                ok = false;
+            }
+            int previous = available.getAndSet(i, ok ? 1 : 0);
+            if (previous != (ok ? 1 : 0)) {
+                log.info("replica-{} {}", i, ok ? "available for reads" : "excluded from reads");
+            }
+        }
+    }
+
+    private double replicationLag(DataSource replica) throws SQLException {
+        try (Connection connection = replica.getConnection()) {
+            if (!StringUtils.hasText(properties.getLagQuery())) {
+                return connection.isValid(1) ? 0 : Double.MAX_VALUE;
+            }
+            try (Statement statement = connection.createStatement();
+                    ResultSet rs = statement.executeQuery(properties.getLagQuery())) {
+                return rs.next() ? rs.getDouble(1) : Double.MAX_VALUE;
+            }
+        }
+    }
+
+    /*
+     * 로컬/테스트용 H2 복제본 초기화
+     * - 스키마 생성(ddl-auto)과 초기 데이터 입력이 끝난 뒤 primary를 SCRIPT로 덤프해서 복제본에 실행
+     * - 실제 복제가 아니므로 이후 primary 변경은 복제본에 반영되지 않음
+     * - 다른 시작 작업(회원 이름 필터 등)이 복제본을 읽기 전에 실행
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void copyPrimaryToReplicas() throws SQLException {
+        if (!properties.isCopyPrimaryOnStartup() || replicas.isEmpty()) {
+            return;
+        }
+
+        List<String> script = new ArrayList<>();
+        try (Connection connection = primary.getConnection();
+                Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery("SCRIPT")) {
+            while (rs.next()) {
+                script.add(rs.getString(1));
+            }
+        }
+
+        int copied = 0;
+        for (int i = 0; i < replicas.size(); i++) {
+            try (Connection connection = replicas.get(i).getConnection();
+                    Statement statement = connection.createStatement()) {
+                // 복제본 풀은 읽기 전용이므로 복사할 때만 쓰기 허용
+                connection.setReadOnly(false);
+                statement.execute("DROP ALL OBJECTS");
+                for (String sql : script) {
+                    statement.execute(sql);
+                }
+                connection.setReadOnly(true);
+                ready.set(i, 1);
+                copied++;
+            } catch (SQLException | RuntimeException e) {
+                // 복사하지 못한 복제본은 비어 있으므로 계속 읽기 대상에서 제외
+                log.warn("replica-{} copy failed, excluded from reads", i, e);
+            }
+        }
+        log.info("copied primary ({} statements) to {}/{} replica(s)", script.size(), copied, replicas.size());
+
+        // 복사가 끝난 뒤 첫 지연 확인
+        checkReplicas();
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(HikariDataSource::close);
+        primary.close();
+    }
+}
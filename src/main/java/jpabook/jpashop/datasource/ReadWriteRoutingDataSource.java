@@ -0,0 +1,43 @@
+package jpabook.jpashop.datasource;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 트랜잭션 readOnly 여부로 커넥션을 가져올 DataSource 선택
+ * - @Transactional(readOnly = true): 사용 가능한 복제본 (없으면 primary)
+ * - 그 외(쓰기 트랜잭션, 트랜잭션 밖): primary
+ * 트랜잭션 시작 시점에는 readOnly 여부가 아직 등록되지 않으므로
+ * 반드시 LazyConnectionDataSourceProxy로 감싸서 첫 쿼리 시점에 커넥션을 가져와야 함
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final ReadWriteDataSources dataSources;
+
+    public ReadWriteRoutingDataSource(ReadWriteDataSources dataSources) {
+        this.dataSources = dataSources;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, dataSources.getPrimary());
+        for (int i = 0; i < dataSources.getReplicas().size(); i++) {
+            targets.put(i, dataSources.getReplicas().get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(dataSources.getPrimary());
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        int replica = dataSources.nextReplica();
+        return replica < 0 ? PRIMARY : replica;
+    }
+}
@@ -0,0 +1,46 @@
+package jpabook.jpashop.datasource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 읽기/쓰기 DataSource 분리 설정 (jpashop.datasource)
+ * - 쓰기(primary)는 spring.datasource 설정을 그대로 사용
+ * - primary와 복제본 풀 모두 spring.datasource.hikari.* 설정 적용
+ * - 읽기 전용 트랜잭션은 replicas 중 하나로 라우팅
+ */
+@Getter @Setter
+@ConfigurationProperties(prefix = "jpashop.datasource")
+public class ReplicaDataSourceProperties {
+
+    // primary 커넥션 풀 크기 (비어 있으면 spring.datasource.hikari.maximum-pool-size, 둘 다 설정하면 시작 실패)
+    private Integer primaryPoolSize;
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    // 복제 지연 확인 쿼리 (지연 초를 숫자 하나로 반환, DB마다 다름)
+    // 비어 있으면 커넥션 유효성만 확인
+    // 예) PostgreSQL: select coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()), 0)
+    private String lagQuery = "";
+
+    // 이 값보다 지연되었거나 확인에 실패한 복제본은 읽기 대상에서 제외 (모두 제외되면 primary에서 읽음)
+    private Duration maxReplicaLag = Duration.ofSeconds(5);
+
+    // 로컬/테스트용 H2 전용: 애플리케이션 시작 시 primary 스키마와 데이터를 복제본에 복사
+    private boolean copyPrimaryOnStartup = false;
+
+    @Getter @Setter
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        // 비어 있으면 spring.datasource.hikari.maximum-pool-size
+        private Integer poolSize;
+    }
+}
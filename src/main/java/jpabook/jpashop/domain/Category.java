@@ -3,25 +3,34 @@ package jpabook.jpashop.domain;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jpabook.jpashop.domain.item.Item;
 import lombok.Getter;
 import lombok.Setter;
 
 @Entity
+// 2차 캐시: 카테고리 트리는 거의 변경되지 않고 자주 조회됨
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "category")
 @Getter @Setter
 public class Category {
   
-  @Id @GeneratedValue
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "category_seq_generator")
+  @SequenceGenerator(name = "category_seq_generator", sequenceName = "category_seq", allocationSize = IdAllocation.ALLOCATION_SIZE)
   @Column(name = "category_id")
   private Long id;
 
@@ -40,6 +49,7 @@ public class Category {
   @JoinColumn(name = "parent_id")
   private Category parent;
 
+  @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "category-child")
   @OneToMany(mappedBy = "parent")
   private List<Category> child = new ArrayList<>();
 
@@ -9,8 +9,10 @@ import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.SequenceGenerator;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -18,7 +20,9 @@ import lombok.Setter;
 @Getter @Setter
 public class Delivery {
 
-  @Id @GeneratedValue
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "delivery_seq_generator")
+  @SequenceGenerator(name = "delivery_seq_generator", sequenceName = "delivery_seq", allocationSize = IdAllocation.ALLOCATION_SIZE)
   @Column(name = "delivery_id")
   private Long id;
 
@@ -0,0 +1,17 @@
+package jpabook.jpashop.domain;
+
+/*
+ * 엔티티 ID 시퀀스 설정
+ * - 엔티티마다 별도 시퀀스를 사용하고, 시퀀스 한 번 호출로 ALLOCATION_SIZE 개의 ID를 메모리에 할당
+ *   (hibernate.id.optimizer.pooled.preferred: pooled-lo)
+ * - persist 마다 시퀀스를 조회하지 않으므로 INSERT를 JDBC 배치로 묶을 수 있음
+ * - 어노테이션 값은 컴파일 타임 상수여야 하므로 여기서 한 번에 변경
+ *   (운영 DB의 시퀀스 increment 값도 같이 변경해야 함)
+ */
+public final class IdAllocation {
+
+  public static final int ALLOCATION_SIZE = 50;
+
+  private IdAllocation() {
+  }
+}
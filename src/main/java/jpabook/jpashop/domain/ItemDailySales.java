@@ -0,0 +1,53 @@
+package jpabook.jpashop.domain;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/*
+ * 상품별 일별 판매 집계 (취소를 차감한 순 판매량)
+ * - 리포트는 주문/주문 상품 대신 이 테이블만 읽으므로 조회 비용이 주문 수가 아닌 일수(x 상품 수)에 비례
+ * - (sales_date, item_id) 유니크 인덱스로 기간 조회
+ */
+@Entity
+@Table(name = "item_daily_sales",
+    uniqueConstraints = @UniqueConstraint(name = "uk_item_daily_sales_date_item", columnNames = {"sales_date", "item_id"}))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ItemDailySales {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_daily_sales_seq_generator")
+  @SequenceGenerator(name = "item_daily_sales_seq_generator", sequenceName = "item_daily_sales_seq", allocationSize = IdAllocation.ALLOCATION_SIZE)
+  @Column(name = "item_daily_sales_id")
+  private Long id;
+
+  @Column(name = "item_id")
+  private Long itemId;
+
+  @Column(name = "sales_date")
+  private LocalDate salesDate;
+
+  private long quantity;  // 판매 수량
+  private long revenue;   // 매출
+
+  public ItemDailySales(Long itemId, LocalDate salesDate) {
+    this.itemId = itemId;
+    this.salesDate = salesDate;
+  }
+
+  public void add(long quantity, long revenue) {
+    this.quantity += quantity;
+    this.revenue += revenue;
+  }
+}
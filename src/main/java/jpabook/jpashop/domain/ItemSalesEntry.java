@@ -0,0 +1,47 @@
+package jpabook.jpashop.domain;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/*
+ * 상품별 판매 변경분 (아직 item_daily_sales에 반영되지 않은 판매량)
+ * - 주문/취소와 같은 트랜잭션에서 INSERT만 하므로 집계 행에 락 경합이 없음
+ * - ItemSalesAggregator가 주기적으로 (상품, 일자)별로 합산하여 반영한 뒤 삭제
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ItemSalesEntry {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_sales_entry_seq_generator")
+  @SequenceGenerator(name = "item_sales_entry_seq_generator", sequenceName = "item_sales_entry_seq", allocationSize = IdAllocation.ALLOCATION_SIZE)
+  @Column(name = "item_sales_entry_id")
+  private Long id;
+
+  @Column(name = "item_id")
+  private Long itemId;
+
+  // 주문 일자 (취소도 주문 일자의 판매량에서 차감)
+  @Column(name = "sales_date")
+  private LocalDate salesDate;
+
+  private int quantity;  // 판매 수량 (주문: 양수, 취소: 음수)
+  private long revenue;  // 매출 (주문 가격 * 수량)
+
+  public ItemSalesEntry(Long itemId, LocalDate salesDate, int quantity, long revenue) {
+    this.itemId = itemId;
+    this.salesDate = salesDate;
+    this.quantity = quantity;
+    this.revenue = revenue;
+  }
+}
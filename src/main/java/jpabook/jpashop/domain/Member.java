@@ -1,23 +1,47 @@
 package jpabook.jpashop.domain;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "member")
+// 회원 이름 중복은 DB 유니크 제약으로 보장 (동시 가입 시에도 안전)
+@Table(uniqueConstraints = @UniqueConstraint(name = Member.UK_NAME, columnNames = "name"))
 @Getter @Setter
 public class Member {
+
+  public static final String UK_NAME = "uk_member_name";
   
-  @Id @GeneratedValue
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "member_seq_generator")
+  @SequenceGenerator(name = "member_seq_generator", sequenceName = "member_seq", allocationSize = IdAllocation.ALLOCATION_SIZE)
   @Column(name = "member_id")
   private Long id;
 
@@ -28,4 +52,40 @@ public class Member {
 
   @OneToMany(mappedBy = "member")  // Order 클래스에 있는 member에 맵핑, 읽기 전용
   private List<Order> orders = new ArrayList<>();
+
+  // 이름 검색용 n-gram 인덱스 (이름 중간 글자 검색 시 전체 회원을 스캔하지 않도록)
+  // 이름이 바뀔 때 setName에서 함께 갱신
+  @JsonIgnore
+  @Setter(AccessLevel.NONE)
+  @ElementCollection
+  @CollectionTable(name = "member_name_gram",
+      joinColumns = @JoinColumn(name = "member_id"),
+      indexes = @Index(name = "idx_member_name_gram", columnList = "gram"))
+  @Column(name = "gram")
+  private Set<String> nameGrams = new HashSet<>();
+
+  public void setName(String name) {
+    this.name = name;
+    this.nameGrams.clear();
+    this.nameGrams.addAll(toNameGrams(name));
+  }
+
+  /*
+   * 이름을 소문자 2-gram으로 분리 (예: "userA" -> us, se, er, ra)
+   * - 한글 이름도 대부분 2~4자이므로 2-gram 사용
+   * - 1글자는 gram을 만들 수 없으므로 빈 집합
+   */
+  public static Set<String> toNameGrams(String name) {
+    Set<String> grams = new HashSet<>();
+    if (name == null) {
+      return grams;
+    }
+    String lower = name.toLowerCase(Locale.ROOT);
+    for (int i = 0; i + NAME_GRAM_SIZE <= lower.length(); i++) {
+      grams.add(lower.substring(i, i + NAME_GRAM_SIZE));
+    }
+    return grams;
+  }
+
+  private static final int NAME_GRAM_SIZE = 2;
 }
@@ -13,11 +13,18 @@ import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedEntityGraphs;
+import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -25,12 +32,41 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "orders")
+// 주문 검색(상태 + 최신순) 인덱스, 주문 금액순 정렬 인덱스
+@Table(name = "orders", indexes = {
+    @Index(name = "idx_orders_status_order_date", columnList = "status, order_date"),
+    @Index(name = "idx_orders_total_price", columnList = "total_price")
+})
+// 조회 화면별 fetch plan (OrderFetchPlan): fetchgraph 힌트로 사용
+@NamedEntityGraphs({
+    @NamedEntityGraph(name = "Order.withMemberDelivery", attributeNodes = {
+        @NamedAttributeNode("member"),
+        @NamedAttributeNode("delivery")
+    }),
+    @NamedEntityGraph(name = "Order.withItems", attributeNodes = {
+        @NamedAttributeNode("member"),
+        @NamedAttributeNode("delivery"),
+        @NamedAttributeNode(value = "orderItems", subgraph = "orderItems")
+    }, subgraphs = {
+        @NamedSubgraph(name = "orderItems", attributeNodes = @NamedAttributeNode("item"))
+    }),
+    // 주문 상품(List)과 카테고리를 함께 fetch 하므로 Item.categories는 Set (bag 2개는 fetch 불가)
+    @NamedEntityGraph(name = "Order.withItemCategories", attributeNodes = {
+        @NamedAttributeNode("member"),
+        @NamedAttributeNode("delivery"),
+        @NamedAttributeNode(value = "orderItems", subgraph = "orderItems")
+    }, subgraphs = {
+        @NamedSubgraph(name = "orderItems", attributeNodes = @NamedAttributeNode(value = "item", subgraph = "item")),
+        @NamedSubgraph(name = "item", attributeNodes = @NamedAttributeNode("categories"))
+    })
+})
 @Getter @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Order {
 
-  @Id @GeneratedValue
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq_generator")
+  @SequenceGenerator(name = "orders_seq_generator", sequenceName = "orders_seq", allocationSize = IdAllocation.ALLOCATION_SIZE)
   @Column(name = "order_id")
   private Long id;
 
@@ -56,6 +92,17 @@ public class Order {
   @Enumerated(EnumType.STRING)
   private OrderStatus status;   // 주문 상태 [ORDER, CANCEL]
 
+  // 비정규화: 주문 총액, 주문 상품(줄) 수
+  // 목록/정렬에서 주문 상품을 읽지 않도록 addOrderItem에서 함께 갱신
+  // 취소해도 주문 당시 금액은 유지 (상태로 구분)
+  @Setter(AccessLevel.NONE)
+  @Column(name = "total_price", nullable = false)
+  private int totalPrice;
+
+  @Setter(AccessLevel.NONE)
+  @Column(name = "item_count", nullable = false)
+  private int itemCount;
+
   // 연관 관계 편의 메서드
   public void setMember(Member member) {
     this.member = member;
@@ -73,6 +120,8 @@ public class Order {
   public void addOrderItem(OrderItem orderItem) {
     orderItems.add(orderItem);
     orderItem.setOrder(this);
+    totalPrice += orderItem.getTotalPrice();
+    itemCount++;
   }
 
   public void setDelivery(Delivery delivery) {
@@ -95,30 +144,27 @@ public class Order {
 
   // 비즈니스 로직
   /*
-   * 주문 취소
+   * 재고 원복 없이 주문 상태만 취소
+   * - 재고 원복은 StockService.cancel에서 상품별 방식(메모리 원장, 조건부 UPDATE, 엔티티)으로 처리
    */
-  public void cancel() {
+  public void cancelWithoutStock() {
     if (delivery.getStatus() == DeliveryStatus.COMPLETED) {
       throw new IllegalStateException("배송 완료된 상품은 취소 불가");
     }
 
     this.setStatus(OrderStatus.CANCEL);
-    for (OrderItem orderItem : orderItems) {
-      // 강조할 필요가 있을 경우가 아니면 this 사용할 필요 없음
-      orderItem.cancel();
-    }
   }
 
   // 조회 로직
   /*
-   * 주문 전체 가격 조회
+   * 주문 전체 가격 조회: 주문 상품을 읽지 않고 total_price 컬럼 사용
+   * - 주문 상품 합계로 다시 계산하는 것은 calculateTotalPrice (정합성 확인용)
    */
   public int getTotalPrice() {
-    // int totalPrice = 0;
-    // for (OrderItem orderItem : orderItems) {
-    //   totalPrice += orderItem.getTotalPrice();
-    // }
-    // return totalPrice;
+    return totalPrice;
+  }
+
+  public int calculateTotalPrice() {
     return orderItems.stream()
                     .mapToInt(OrderItem::getTotalPrice)
                     .sum();
@@ -6,9 +6,11 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jpabook.jpashop.domain.item.Item;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -20,7 +22,9 @@ import lombok.Setter;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class OrderItem {
 
-  @Id @GeneratedValue
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_item_seq_generator")
+  @SequenceGenerator(name = "order_item_seq_generator", sequenceName = "order_item_seq", allocationSize = IdAllocation.ALLOCATION_SIZE)
   @Column(name = "order_item_id")
   private Long id;
 
@@ -38,19 +42,22 @@ public class OrderItem {
   
   // 생성 메서드
   public static OrderItem createOrderItem(Item item, int orderPrice, int count) {
-    OrderItem orderItem = new OrderItem();
-    orderItem.setItem(item);
-    orderItem.setOrderPrice(orderPrice);
-    orderItem.setCount(count);
+    OrderItem orderItem = createOrderItemWithoutStock(item, orderPrice, count);
 
     item.removeStock(count);
     return orderItem;
   }
 
-  // 비즈니스 로직
-  public void cancel() {
-    // 취소 주문 재고 원복
-    getItem().addStock(count);
+  /*
+   * 재고 차감 없이 주문 상품 생성
+   * - StockService에서 DB에 직접 재고를 차감한 경우 사용
+   */
+  public static OrderItem createOrderItemWithoutStock(Item item, int orderPrice, int count) {
+    OrderItem orderItem = new OrderItem();
+    orderItem.setItem(item);
+    orderItem.setOrderPrice(orderPrice);
+    orderItem.setCount(count);
+    return orderItem;
   }
 
   // 조회 로직
@@ -0,0 +1,39 @@
+package jpabook.jpashop.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/*
+ * 인기 상품 재고 원장 (아직 item.stock_quantity에 반영되지 않은 재고 변경분)
+ * - 주문/취소와 같은 트랜잭션에서 INSERT만 하므로 상품 행에 락 경합이 없음
+ * - StockLedgerFlusher가 주기적으로 합산하여 item에 반영한 뒤 삭제
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class StockLedgerEntry {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_ledger_entry_seq_generator")
+  @SequenceGenerator(name = "stock_ledger_entry_seq_generator", sequenceName = "stock_ledger_entry_seq", allocationSize = IdAllocation.ALLOCATION_SIZE)
+  @Column(name = "stock_ledger_entry_id")
+  private Long id;
+
+  // 연관관계 대신 id만 저장: 원장 기록 시 Item 조회 불필요
+  @Column(name = "item_id")
+  private Long itemId;
+
+  private int delta;  // 재고 변경량 (주문: 음수, 취소: 양수)
+
+  public StockLedgerEntry(Long itemId, int delta) {
+    this.itemId = itemId;
+    this.delta = delta;
+  }
+}
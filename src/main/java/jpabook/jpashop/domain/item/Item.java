@@ -1,29 +1,39 @@
 package jpabook.jpashop.domain.item;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.DiscriminatorColumn;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Inheritance;
 import jakarta.persistence.InheritanceType;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Version;
 import jpabook.jpashop.domain.Category;
+import jpabook.jpashop.domain.IdAllocation;
 import jpabook.jpashop.exception.NotEnoughStockException;
 import lombok.Getter;
 import lombok.Setter;
 
 @Entity
+// 2차 캐시: 엔티티 변경은 READ_WRITE 전략으로, 재고 네이티브 UPDATE는 ItemRepository에서 해당 상품만 무효화
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "item")
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE)
 @DiscriminatorColumn(name = "dtype")
 @Getter @Setter
 public abstract class Item {
 
   @Id
-  @GeneratedValue
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_seq_generator")
+  @SequenceGenerator(name = "item_seq_generator", sequenceName = "item_seq", allocationSize = IdAllocation.ALLOCATION_SIZE)
   @Column(name = "item_id")
   private Long id;
 
@@ -31,8 +41,14 @@ public abstract class Item {
   private int price;
   private int stockQuantity;
 
+  // 낙관적 락: 동시에 재고를 변경하면 나중에 커밋하는 쪽이 실패 (StockConcurrencyMode.OPTIMISTIC)
+  @Version
+  private Long version;
+
+  // 주문 상품(List)과 함께 fetch join 할 수 있도록 Set (Order.withItemCategories)
+  @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "item-categories")
   @ManyToMany(mappedBy = "items")
-  private List<Category> categories = new ArrayList<>();
+  private Set<Category> categories = new HashSet<>();
 
   // 비즈니스 로직
   /*
@@ -0,0 +1,21 @@
+package jpabook.jpashop.exception;
+
+// SQL 실행 수 예산 초과 (jpashop.sql-budget.on-violation=FAIL 일 때)
+public class SqlBudgetExceededException extends RuntimeException {
+
+  public SqlBudgetExceededException() {
+    super();
+  }
+
+  public SqlBudgetExceededException(String message) {
+    super(message);
+  }
+
+  public SqlBudgetExceededException(String message, Throwable cause) {
+    super(message, cause);
+  }
+
+  public SqlBudgetExceededException(Throwable cause) {
+    super(cause);
+  }
+}
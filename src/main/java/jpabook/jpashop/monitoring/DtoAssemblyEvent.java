@@ -0,0 +1,50 @@
+package jpabook.jpashop.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/*
+ * JFR 이벤트: 주문 조회 DTO 조립 단계 (OrderQueryRepository, OrderApiController.ordersV6)
+ * - strategy: 조회 방식 (메서드 이름), phase: root(주문 조회) / collection(주문 상품 조회) / assemble(DTO 조립)
+ * - orders: 주문 수, rows: 읽은 행 수
+ */
+@Name("jpashop.DtoAssembly")
+@Label("DTO Assembly")
+@Category({ "JPA Shop", "Query" })
+@Description("Order query DTO assembly phase")
+public class DtoAssemblyEvent extends Event {
+
+    @Label("Strategy")
+    private String strategy;
+
+    @Label("Phase")
+    private String phase;
+
+    @Label("Orders")
+    private int orders;
+
+    @Label("Rows")
+    private int rows;
+
+    private DtoAssemblyEvent(String strategy, String phase) {
+        this.strategy = strategy;
+        this.phase = phase;
+    }
+
+    public static DtoAssemblyEvent start(String strategy, String phase) {
+        DtoAssemblyEvent event = new DtoAssemblyEvent(strategy, phase);
+        event.begin();
+        return event;
+    }
+
+    public void end(int orders, int rows) {
+        if (shouldCommit()) {
+            this.orders = orders;
+            this.rows = rows;
+            commit();
+        }
+    }
+}
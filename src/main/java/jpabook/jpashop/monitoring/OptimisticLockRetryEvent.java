@@ -0,0 +1,26 @@
+package jpabook.jpashop.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import lombok.Setter;
+
+// JFR 이벤트: 낙관적 락 충돌로 실패한 시도 하나 (기간 = 실패한 트랜잭션 실행 시간)
+@Name("jpashop.OptimisticLockRetry")
+@Label("Optimistic Lock Retry")
+@Category({ "JPA Shop", "Stock" })
+@Description("Transaction attempt that failed with an optimistic lock conflict")
+@Setter
+public class OptimisticLockRetryEvent extends Event {
+
+    @Label("Method")
+    private String method;
+
+    @Label("Attempt")
+    private int attempt;
+
+    @Label("Gave Up")
+    private boolean gaveUp;
+}
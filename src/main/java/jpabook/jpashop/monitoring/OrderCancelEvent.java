@@ -0,0 +1,23 @@
+package jpabook.jpashop.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import lombok.Setter;
+
+// JFR 이벤트: 주문 취소 (OrderService.cancelOrder), 커밋 제외
+@Name("jpashop.OrderCancel")
+@Label("Order Cancel")
+@Category({ "JPA Shop", "Order" })
+@Description("OrderService.cancelOrder")
+@Setter
+public class OrderCancelEvent extends Event {
+
+    @Label("Order Id")
+    private long orderId;
+
+    @Label("Order Lines")
+    private int lineCount;
+}
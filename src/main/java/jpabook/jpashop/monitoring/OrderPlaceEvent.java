@@ -0,0 +1,33 @@
+package jpabook.jpashop.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import lombok.Setter;
+
+/*
+ * JFR 이벤트: 주문 생성 (OrderService.order)
+ * - 기간은 트랜잭션 안의 주문 처리 시간 (커밋 제외), 성공한 주문만 기록
+ * - JFR 기록이 꺼져 있으면 commit()은 아무 일도 하지 않음
+ */
+@Name("jpashop.OrderPlace")
+@Label("Order Place")
+@Category({ "JPA Shop", "Order" })
+@Description("OrderService.order")
+@Setter
+public class OrderPlaceEvent extends Event {
+
+    @Label("Member Id")
+    private long memberId;
+
+    @Label("Order Id")
+    private long orderId;
+
+    @Label("Order Lines")
+    private int lineCount;
+
+    @Label("Item Quantity")
+    private int itemQuantity;
+}
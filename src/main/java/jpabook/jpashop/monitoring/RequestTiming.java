@@ -0,0 +1,74 @@
+package jpabook.jpashop.monitoring;
+
+import java.util.Locale;
+
+import lombok.Getter;
+
+/**
+ * API 요청 하나의 처리 시간 구간 (ServerTimingMonitor가 스레드별로 관리)
+ * - acquire: 커넥션 획득, sql: SQL 실행 (p6spy 이벤트 합계)
+ * - mapping: 핸들러 실행 시간 - acquire - sql (결과 행 -> 엔티티 하이드레이션, 엔티티 -> DTO 변환 등)
+ * - serialization: 핸들러 반환 후 응답 본문 작성까지 (Jackson 직렬화)
+ */
+@Getter
+public class RequestTiming {
+
+    private final long startNanos = System.nanoTime();
+    private String endpoint;
+    private long acquireNanos;
+    private long sqlNanos;
+    // 핸들러가 값을 반환한 시점 (ServerTimingAdvice), 응답을 직접 쓰는 핸들러는 0
+    private long handlerEndNanos;
+    private long endNanos;
+
+    RequestTiming(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    void describe(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    void addAcquire(long nanos) {
+        acquireNanos += nanos;
+    }
+
+    void addSql(long nanos) {
+        sqlNanos += nanos;
+    }
+
+    void markHandlerEnd() {
+        if (handlerEndNanos == 0) {
+            handlerEndNanos = System.nanoTime();
+        }
+    }
+
+    void end() {
+        endNanos = System.nanoTime();
+    }
+
+    public long totalNanos() {
+        return endNanos - startNanos;
+    }
+
+    public long mappingNanos() {
+        long handler = (handlerEndNanos == 0 ? endNanos : handlerEndNanos) - startNanos;
+        return Math.max(handler - acquireNanos - sqlNanos, 0);
+    }
+
+    public long serializationNanos() {
+        return handlerEndNanos == 0 ? 0 : endNanos - handlerEndNanos;
+    }
+
+    // Server-Timing 헤더 값 (밀리초)
+    public String toHeader() {
+        return String.format(Locale.ROOT,
+                "acquire;dur=%.2f, sql;dur=%.2f, mapping;dur=%.2f, serialization;dur=%.2f, total;dur=%.2f",
+                millis(acquireNanos), millis(sqlNanos), millis(mappingNanos()), millis(serializationNanos()),
+                millis(totalNanos()));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,90 @@
+package jpabook.jpashop.monitoring;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * API 요청 처리 시간 측정 범위
+ * - 엔드포인트 이름은 핸들러가 정해진 뒤 ServerTimingInterceptor에서 지정
+ * - exposeHeader=true 이면 응답 본문을 버퍼에 모았다가 Server-Timing 헤더를 붙여 전송
+ *   (헤더는 본문보다 먼저 나가야 하므로 직렬화 시간까지 재려면 버퍼링이 필요)
+ * - 응답을 직접 쓰는 핸들러(스트리밍)는 버퍼링하지 않고 헤더 없이 히스토그램에만 기록
+ */
+@RequiredArgsConstructor
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Server-Timing";
+
+    private final ServerTimingMonitor monitor;
+    private final boolean exposeHeader;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestTiming timing = monitor.start();
+        if (!exposeHeader) {
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                monitor.finish(timing);
+            }
+            return;
+        }
+
+        TimingResponseWrapper wrapper = new TimingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, wrapper);
+        } finally {
+            monitor.finish(timing);
+            if (!wrapper.passThrough && !response.isCommitted()) {
+                response.setHeader(HEADER, timing.toHeader());
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    // 응답을 직접 쓰는 핸들러는 버퍼 대신 원래 응답으로 바로 쓰도록 전환
+    static void passThrough(HttpServletResponse response) {
+        if (response instanceof TimingResponseWrapper wrapper) {
+            wrapper.passThrough = true;
+        }
+    }
+
+    static class TimingResponseWrapper extends ContentCachingResponseWrapper {
+
+        private boolean passThrough;
+
+        TimingResponseWrapper(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            return passThrough ? getResponse().getOutputStream() : super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            return passThrough ? getResponse().getWriter() : super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (passThrough) {
+                getResponse().flushBuffer();
+            } else {
+                super.flushBuffer();
+            }
+        }
+    }
+}
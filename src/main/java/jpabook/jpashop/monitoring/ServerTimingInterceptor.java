@@ -0,0 +1,33 @@
+package jpabook.jpashop.monitoring;
+
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+// 측정 범위 이름을 URL 패턴으로 지정, 응답을 직접 쓰는(void) 핸들러는 버퍼링 해제
+@RequiredArgsConstructor
+public class ServerTimingInterceptor implements HandlerInterceptor {
+
+    private final ServerTimingMonitor monitor;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestTiming timing = monitor.currentTiming();
+        if (timing == null || !(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern != null) {
+            timing.describe(request.getMethod() + " " + pattern);
+        }
+        if (handlerMethod.isVoid()) {
+            ServerTimingFilter.passThrough(response);
+        }
+        return true;
+    }
+}
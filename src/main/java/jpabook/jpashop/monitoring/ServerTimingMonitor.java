@@ -0,0 +1,87 @@
+package jpabook.jpashop.monitoring;
+
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.stereotype.Component;
+
+import com.p6spy.engine.common.ConnectionInformation;
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+
+import lombok.Getter;
+
+/**
+ * API 요청별 처리 시간 구간 측정 (커넥션 획득 / SQL / 매핑 / 직렬화)
+ * - p6spy 이벤트 리스너: 커넥션 획득 시간과 SQL 실행 시간을 현재 요청에 더함
+ * - 요청이 끝나면 엔드포인트(URL 패턴)별 히스토그램에 기록, Server-Timing 헤더는 ServerTimingFilter에서 추가
+ * - 요청은 스레드에 묶이므로 다른 스레드(병렬 IN 조회 등)에서 실행한 SQL은 mapping에 포함됨
+ */
+@Component
+public class ServerTimingMonitor extends SimpleJdbcEventListener {
+
+    // URL 패턴을 찾지 못한 요청(404 등)은 하나로 모아 엔드포인트 수가 늘지 않도록 함
+    static final String UNMATCHED = "(unmatched)";
+
+    private final ThreadLocal<RequestTiming> current = new ThreadLocal<>();
+    private final ConcurrentMap<String, EndpointTimings> endpoints = new ConcurrentHashMap<>();
+
+    public RequestTiming start() {
+        RequestTiming timing = new RequestTiming(UNMATCHED);
+        current.set(timing);
+        return timing;
+    }
+
+    public RequestTiming currentTiming() {
+        return current.get();
+    }
+
+    public void finish(RequestTiming timing) {
+        current.remove();
+        timing.end();
+        endpoints.computeIfAbsent(timing.getEndpoint(), k -> new EndpointTimings()).record(timing);
+    }
+
+    public Map<String, EndpointTimings> snapshot() {
+        return Map.copyOf(endpoints);
+    }
+
+    public void reset() {
+        endpoints.clear();
+    }
+
+    @Override
+    public void onAfterGetConnection(ConnectionInformation connectionInformation, SQLException e) {
+        RequestTiming timing = current.get();
+        if (timing != null) {
+            timing.addAcquire(connectionInformation.getTimeToGetConnectionNs());
+        }
+    }
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        RequestTiming timing = current.get();
+        if (timing != null) {
+            timing.addSql(timeElapsedNanos);
+        }
+    }
+
+    @Getter
+    public static class EndpointTimings {
+        private final LatencyHistogram acquire = new LatencyHistogram();
+        private final LatencyHistogram sql = new LatencyHistogram();
+        private final LatencyHistogram mapping = new LatencyHistogram();
+        private final LatencyHistogram serialization = new LatencyHistogram();
+        private final LatencyHistogram total = new LatencyHistogram();
+
+        void record(RequestTiming timing) {
+            acquire.record(timing.getAcquireNanos());
+            sql.record(timing.getSqlNanos());
+            mapping.record(timing.mappingNanos());
+            serialization.record(timing.serializationNanos());
+            total.record(timing.totalNanos());
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package jpabook.jpashop.monitoring;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/*
+ * 요청(컨트롤러 메서드) 또는 @Transactional 메서드 한 번에 허용하는 최대 SQL 실행 수
+ * - 초과하면 jpashop.sql-budget.on-violation 설정에 따라 로그(LOG) 또는 예외(FAIL)
+ * - 예산을 선언한 범위에서는 N + 1 의심(같은 SELECT 반복)도 위반으로 처리
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SqlBudget {
+
+    // 최대 SQL 실행 수
+    int value();
+}
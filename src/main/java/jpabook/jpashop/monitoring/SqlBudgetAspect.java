@@ -0,0 +1,46 @@
+package jpabook.jpashop.monitoring;
+
+import java.lang.reflect.Method;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * @Transactional 메서드 호출마다 SQL 실행 수 집계 범위 열기
+ * - 낙관적 락 재시도(LOWEST_PRECEDENCE - 1), 트랜잭션(LOWEST_PRECEDENCE)보다 바깥에서 실행되어
+ *   커밋 시점 flush와 재시도 SQL까지 포함
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 2)
+@RequiredArgsConstructor
+public class SqlBudgetAspect {
+
+    private final SqlStatementMonitor monitor;
+
+    @Around("within(jpabook.jpashop..*) && (@annotation(org.springframework.transaction.annotation.Transactional)"
+            + " || @within(org.springframework.transaction.annotation.Transactional))")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        SqlBudget budget = AnnotatedElementUtils.findMergedAnnotation(method, SqlBudget.class);
+
+        SqlScope scope = monitor.open(joinPoint.getSignature().toShortString(), budget == null ? -1 : budget.value());
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            monitor.release(scope);
+            throw e;
+        }
+        monitor.close(scope);
+        return result;
+    }
+}
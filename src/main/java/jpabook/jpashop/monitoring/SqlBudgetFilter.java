@@ -0,0 +1,35 @@
+package jpabook.jpashop.monitoring;
+
+import java.io.IOException;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * HTTP 요청 하나를 SQL 실행 수 집계 범위로 실행
+ * - 이름과 예산은 핸들러가 정해진 뒤 SqlBudgetInterceptor에서 지정
+ * - 필터에서 범위를 닫으므로 on-violation=FAIL 이면 요청이 예외로 끝남 (MockMvc 테스트에서 확인 가능)
+ */
+@RequiredArgsConstructor
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    private final SqlStatementMonitor monitor;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlScope scope = monitor.open(request.getMethod() + " " + request.getRequestURI(), -1);
+        try {
+            filterChain.doFilter(request, response);
+        } catch (ServletException | IOException | RuntimeException e) {
+            monitor.release(scope);
+            throw e;
+        }
+        monitor.close(scope);
+    }
+}
@@ -0,0 +1,30 @@
+package jpabook.jpashop.monitoring;
+
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+// 요청 범위 이름을 URL 패턴으로, 예산을 컨트롤러 메서드의 @SqlBudget으로 지정
+@RequiredArgsConstructor
+public class SqlBudgetInterceptor implements HandlerInterceptor {
+
+    private final SqlStatementMonitor monitor;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        SqlScope scope = monitor.currentScope();
+        if (scope == null || !(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        SqlBudget budget = handlerMethod.getMethodAnnotation(SqlBudget.class);
+        scope.describe(request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI()),
+                budget == null ? -1 : budget.value());
+        return true;
+    }
+}
@@ -0,0 +1,37 @@
+package jpabook.jpashop.monitoring;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * SQL 모양(fingerprint): 값만 다른 SQL을 하나로 묶기 위한 정규화
+ * - 문자열/숫자 리터럴 -> ?
+ * - IN 목록 -> in (...) : in_clause_parameter_padding, 청크 크기와 무관하게 같은 모양
+ * - 다중 VALUES -> values (...)
+ * - 공백 정리, 소문자
+ */
+public final class SqlFingerprint {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.$])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern IN_LIST = Pattern.compile("\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern VALUES_LIST = Pattern.compile("\\bvalues\\s*\\([^()]*\\)(?:\\s*,\\s*\\([^()]*\\))*",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private SqlFingerprint() {
+    }
+
+    public static String of(String sql) {
+        if (sql == null) {
+            return "";
+        }
+        String normalized = WHITESPACE.matcher(sql).replaceAll(" ").trim();
+        normalized = STRING_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = IN_LIST.matcher(normalized).replaceAll("in (...)");
+        normalized = VALUES_LIST.matcher(normalized).replaceAll("values (...)");
+        return normalized.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,60 @@
+package jpabook.jpashop.monitoring;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import lombok.Getter;
+
+/**
+ * SQL 실행 수를 세는 범위 (HTTP 요청 하나, @Transactional 메서드 호출 하나)
+ * - 스레드에 묶여 있고 중첩 가능: SQL 한 번은 열려 있는 모든 범위에 집계
+ * - SELECT는 SQL 모양(바인딩 파라미터 제외)별로 따로 세어 N + 1 패턴 탐지
+ */
+@Getter
+public class SqlScope {
+
+    private final SqlScope parent;
+    private String name;
+    private int budget;
+    private int statementCount;
+    private final Map<String, Integer> selectCounts = new HashMap<>();
+
+    SqlScope(SqlScope parent, String name, int budget) {
+        this.parent = parent;
+        this.name = name;
+        this.budget = budget;
+    }
+
+    // 요청 범위는 필터에서 먼저 열고, 핸들러가 정해진 뒤 이름과 예산을 지정
+    void describe(String name, int budget) {
+        this.name = name;
+        this.budget = budget;
+    }
+
+    void record(String sql, boolean select) {
+        statementCount++;
+        if (select) {
+            selectCounts.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    public boolean hasBudget() {
+        return budget >= 0;
+    }
+
+    public boolean isOverBudget() {
+        return hasBudget() && statementCount > budget;
+    }
+
+    // threshold번 이상 반복된 SELECT 모양 (N + 1 의심)
+    public Map<String, Integer> repeatedSelects(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        selectCounts.forEach((sql, count) -> {
+            if (count >= threshold) {
+                repeated.put(sql, count);
+            }
+        });
+        return repeated;
+    }
+}
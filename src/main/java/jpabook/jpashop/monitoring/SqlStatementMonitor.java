@@ -0,0 +1,121 @@
+package jpabook.jpashop.monitoring;
+
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+
+import jpabook.jpashop.exception.SqlBudgetExceededException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 요청/트랜잭션 메서드별 SQL 실행 수 집계와 예산 확인
+ * - p6spy 이벤트 리스너: JdbcEventListener 빈은 p6spy-spring-boot-starter가 자동 등록
+ * - 범위가 끝날 때 예산 초과, N + 1 의심(같은 SELECT가 n-plus-one-threshold번 이상)을 확인
+ * - 위반은 로그와 위반 횟수로 남기고, on-violation=FAIL 이면 예외 (테스트에서 사용)
+ * - 범위는 스레드에 묶이므로 다른 스레드(병렬 IN 조회 등)에서 실행한 SQL은 집계하지 않음
+ */
+@Slf4j
+@Component
+public class SqlStatementMonitor extends SimpleJdbcEventListener {
+
+    public enum OnViolation {
+        LOG, FAIL
+    }
+
+    private final ThreadLocal<SqlScope> current = new ThreadLocal<>();
+    private final Map<String, LongAdder> violations = new ConcurrentHashMap<>();
+
+    @Value("${jpashop.sql-budget.on-violation:LOG}")
+    private OnViolation onViolation;
+
+    @Value("${jpashop.sql-budget.n-plus-one-threshold:5}")
+    private int nPlusOneThreshold;
+
+    public SqlScope open(String name, int budget) {
+        SqlScope scope = new SqlScope(current.get(), name, budget);
+        current.set(scope);
+        return scope;
+    }
+
+    public SqlScope currentScope() {
+        return current.get();
+    }
+
+    /**
+     * 범위를 닫고 위반 여부 확인
+     * - on-violation=FAIL 이면서 예산을 넘었거나 (예산이 있는 범위에서) N + 1 이 의심되면 예외
+     */
+    public void close(SqlScope scope) {
+        release(scope);
+
+        Map<String, Integer> repeated = scope.repeatedSelects(nPlusOneThreshold);
+        if (!repeated.isEmpty()) {
+            violations.computeIfAbsent(scope.getName() + " n+1", k -> new LongAdder()).increment();
+            repeated.forEach((sql, count) ->
+                    log.warn("N+1 suspected in {}: {} times [{}]", scope.getName(), count, sql));
+        }
+        if (scope.isOverBudget()) {
+            violations.computeIfAbsent(scope.getName() + " budget", k -> new LongAdder()).increment();
+            log.warn("SQL budget exceeded in {}: {} statements (budget {})",
+                    scope.getName(), scope.getStatementCount(), scope.getBudget());
+        }
+
+        if (onViolation == OnViolation.FAIL && scope.hasBudget() && (scope.isOverBudget() || !repeated.isEmpty())) {
+            throw new SqlBudgetExceededException(String.format("%s: %d statements (budget %d), repeated selects %s",
+                    scope.getName(), scope.getStatementCount(), scope.getBudget(), repeated.values()));
+        }
+    }
+
+    // 예외로 끝난 범위: 원래 예외를 가리지 않도록 확인 없이 닫기만 함
+    public void release(SqlScope scope) {
+        if (scope.getParent() == null) {
+            current.remove();
+        } else {
+            current.set(scope.getParent());
+        }
+    }
+
+    // 코드 블록 하나를 범위로 실행 (예산이 없으면 budget = -1)
+    public <T> T run(String name, int budget, Supplier<T> action) {
+        SqlScope scope = open(name, budget);
+        T result;
+        try {
+            result = action.get();
+        } catch (RuntimeException e) {
+            release(scope);
+            throw e;
+        }
+        close(scope);
+        return result;
+    }
+
+    // 범위별 위반 횟수 (이름 + " budget" / " n+1")
+    public Map<String, Long> violations() {
+        Map<String, Long> result = new ConcurrentHashMap<>();
+        violations.forEach((key, count) -> result.put(key, count.sum()));
+        return result;
+    }
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        SqlScope scope = current.get();
+        if (scope == null) {
+            return;
+        }
+
+        String sql = statementInformation.getSql();
+        boolean select = sql != null && sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("select");
+        for (SqlScope s = scope; s != null; s = s.getParent()) {
+            s.record(sql, select);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package jpabook.jpashop.monitoring;
+
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+
+import com.p6spy.engine.common.ResultSetInformation;
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+
+import lombok.Getter;
+
+/**
+ * SQL 모양(SqlFingerprint)별 실행 통계: 실행 수, 지연 시간 히스토그램, 조회 행 수, 오류 수
+ * - p6spy 이벤트 리스너 (SqlStatementMonitor와 같은 방식으로 자동 등록)
+ * - 모양 수는 MAX_FINGERPRINTS로 제한하고 넘치면 "(other)"로 집계 (동적 SQL로 메모리가 늘지 않도록)
+ */
+@Component
+public class SqlStatistics extends SimpleJdbcEventListener {
+
+    static final int MAX_FINGERPRINTS = 2000;
+    static final String OTHER = "(other)";
+
+    private final ConcurrentMap<String, Stats> stats = new ConcurrentHashMap<>();
+    // 원본 SQL -> 모양 (PreparedStatement SQL은 종류가 적으므로 정규화 결과 재사용)
+    private final ConcurrentMap<String, String> fingerprints = new ConcurrentHashMap<>();
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        Stats s = statsOf(statementInformation.getSql());
+        s.latency.record(timeElapsedNanos);
+        if (e != null) {
+            s.errors.increment();
+        }
+    }
+
+    // 결과 행 수는 ResultSet을 닫을 때 읽은 행 수로 집계
+    @Override
+    public void onAfterResultSetClose(ResultSetInformation resultSetInformation, SQLException e) {
+        int rows = resultSetInformation.getCurrRow() + 1;
+        if (rows > 0) {
+            statsOf(resultSetInformation.getStatementInformation().getSql()).rows.add(rows);
+        }
+    }
+
+    public Map<String, Stats> snapshot() {
+        return Map.copyOf(stats);
+    }
+
+    public void reset() {
+        stats.clear();
+    }
+
+    private Stats statsOf(String sql) {
+        String fingerprint = fingerprint(sql);
+        Stats s = stats.get(fingerprint);
+        if (s != null) {
+            return s;
+        }
+        if (stats.size() >= MAX_FINGERPRINTS) {
+            return stats.computeIfAbsent(OTHER, k -> new Stats());
+        }
+        return stats.computeIfAbsent(fingerprint, k -> new Stats());
+    }
+
+    private String fingerprint(String sql) {
+        if (sql == null) {
+            return OTHER;
+        }
+        String fingerprint = fingerprints.get(sql);
+        if (fingerprint == null) {
+            fingerprint = SqlFingerprint.of(sql);
+            if (fingerprints.size() < MAX_FINGERPRINTS * 4) {
+                fingerprints.put(sql, fingerprint);
+            }
+        }
+        return fingerprint;
+    }
+
+    @Getter
+    public static class Stats {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+    }
+}
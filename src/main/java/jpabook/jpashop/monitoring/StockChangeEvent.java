@@ -0,0 +1,33 @@
+package jpabook.jpashop.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import lombok.Setter;
+
+/*
+ * JFR 이벤트: 상품 재고 변경 (StockService 차감/원복)
+ * - path: 처리 방식 (LEDGER: 인기 상품 메모리 원장, OPTIMISTIC: 엔티티 + @Version, ATOMIC: 조건부 UPDATE)
+ * - 재고 부족으로 실패한 차감도 success = false로 기록
+ */
+@Name("jpashop.StockChange")
+@Label("Stock Change")
+@Category({ "JPA Shop", "Stock" })
+@Description("Item stock removal / restore")
+@Setter
+public class StockChangeEvent extends Event {
+
+    @Label("Item Id")
+    private long itemId;
+
+    @Label("Delta")
+    private int delta;
+
+    @Label("Path")
+    private String path;
+
+    @Label("Success")
+    private boolean success;
+}
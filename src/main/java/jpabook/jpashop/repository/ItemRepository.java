@@ -1,10 +1,15 @@
 package jpabook.jpashop.repository;
 
+import java.util.Collection;
 import java.util.List;
 
+import org.hibernate.query.NativeQuery;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 // import jakarta.persistence.PersistenceContext;
 import jpabook.jpashop.domain.item.Item;
 import lombok.RequiredArgsConstructor;
@@ -13,6 +18,9 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class ItemRepository {
 
+  // 재고 네이티브 UPDATE용 query space (어떤 엔티티 테이블과도 겹치지 않아 캐시 영역을 무효화하지 않음)
+  private static final String STOCK_QUERY_SPACE = "item_stock";
+
   // @PersistenceContext
   private final EntityManager em;
 
@@ -53,4 +61,67 @@ public class ItemRepository {
   public List<Item> findAll() {
     return em.createQuery("select i from Item i", Item.class).getResultList();
   }
+
+  public List<Item> findAll(Collection<Long> ids) {
+    return em.createQuery("select i from Item i where i.id in :ids", Item.class)
+        .setParameter("ids", ids)
+        .getResultList();
+  }
+
+  // 여러 상품을 쿼리 한 번으로 조회하면서 비관적 락(select ... for update) 획득
+  // item_id 오름차순으로 락을 잡기 때문에 동시에 들어온 장바구니 주문끼리 교착 상태가 생기지 않음
+  public List<Item> findAllForUpdate(Collection<Long> ids) {
+    return em.createQuery("select i from Item i where i.id in :ids order by i.id", Item.class)
+        .setParameter("ids", ids)
+        .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+        .getResultList();
+  }
+
+  // 조건부 재고 차감: 재고가 충분할 때만 DB에서 원자적으로 차감
+  // 영속성 컨텍스트를 거치지 않는 벌크 연산이므로 반환값(변경된 행 수)이 0이면 재고 부족
+  public int removeStock(Long itemId, int quantity) {
+    return updateStock("update item" +
+        " set stock_quantity = stock_quantity - :quantity, version = version + 1" +
+        " where item_id = :itemId and stock_quantity >= :quantity", itemId, quantity);
+  }
+
+  public int addStock(Long itemId, int quantity) {
+    return updateStock("update item" +
+        " set stock_quantity = stock_quantity + :quantity, version = version + 1" +
+        " where item_id = :itemId", itemId, quantity);
+  }
+
+  /*
+   * 재고 UPDATE는 2차 캐시에서 해당 상품만 제거
+   * - HQL 벌크 UPDATE는 item 영역 전체를 비우므로 주문마다 모든 상품 캐시가 사라짐
+   * - 네이티브 UPDATE에 캐시 영역과 관계없는 query space를 지정해 영역 전체 무효화를 막고, 해당 id만 직접 제거
+   * - 커밋(또는 롤백) 전에 다른 트랜잭션이 이전 값을 다시 캐시할 수 있으므로 트랜잭션 종료 후 한 번 더 제거
+   */
+  private int updateStock(String sql, Long itemId, int quantity) {
+    NativeQuery<?> query = em.createNativeQuery(sql).unwrap(NativeQuery.class);
+    int updated = query.addSynchronizedQuerySpace(STOCK_QUERY_SPACE)
+        .setParameter("quantity", quantity)
+        .setParameter("itemId", itemId)
+        .executeUpdate();
+
+    evictFromCache(itemId);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCompletion(int status) {
+          evictFromCache(itemId);
+        }
+      });
+    }
+    return updated;
+  }
+
+  private void evictFromCache(Long itemId) {
+    em.getEntityManagerFactory().getCache().evict(Item.class, itemId);
+  }
+
+  // 벌크 연산 후 영속성 컨텍스트의 엔티티를 DB 값으로 다시 맞춤
+  public void refresh(Item item) {
+    em.refresh(item);
+  }
 }
@@ -0,0 +1,103 @@
+package jpabook.jpashop.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jpabook.jpashop.domain.ItemDailySales;
+import jpabook.jpashop.domain.ItemSalesEntry;
+import jpabook.jpashop.domain.OrderStatus;
+import lombok.RequiredArgsConstructor;
+
+@Repository
+@RequiredArgsConstructor
+public class ItemSalesRepository {
+
+  private final EntityManager em;
+
+  public void save(ItemSalesEntry entry) {
+    em.persist(entry);
+  }
+
+  public void save(ItemDailySales sales) {
+    em.persist(sales);
+  }
+
+  public List<ItemSalesEntry> findPending(int limit) {
+    return em.createQuery("select e from ItemSalesEntry e order by e.id", ItemSalesEntry.class)
+        .setMaxResults(limit)
+        .getResultList();
+  }
+
+  // 합산한 변경분만 id로 지정하여 삭제 (합산 이후 커밋된 변경분은 다음 반영에서 처리)
+  public int deleteEntries(List<Long> ids) {
+    return em.createQuery("delete from ItemSalesEntry e where e.id in :ids")
+        .setParameter("ids", ids)
+        .executeUpdate();
+  }
+
+  // 반영 대상 (일자, 상품) 집계 행 조회: 일자 범위 + 상품 id로 좁힌 뒤 호출하는 쪽에서 키로 매칭
+  public List<ItemDailySales> findDaily(Collection<Long> itemIds, LocalDate from, LocalDate to) {
+    return em.createQuery("select s from ItemDailySales s" +
+        " where s.salesDate between :from and :to" +
+        " and s.itemId in :itemIds", ItemDailySales.class)
+        .setParameter("from", from)
+        .setParameter("to", to)
+        .setParameter("itemIds", itemIds)
+        .getResultList();
+  }
+
+  /*
+   * 기간 내 일별 판매량: 집계 테이블 + 아직 반영되지 않은 변경분
+   * - 결과: [sales_date, item_id, 수량, 매출], (일자, 상품) 순
+   * - 두 테이블을 union all 한 쿼리로 읽음: 따로 읽으면 그 사이에 반영(집계 갱신 + 변경분 삭제)이 커밋될 때
+   *   그 변경분이 양쪽 모두에서 빠짐
+   * - 변경분은 반영 주기 동안 쌓인 만큼만 있으므로 조회 비용은 기간의 일수(x 상품 수)에 비례
+   */
+  public List<Object[]> findDailySales(LocalDate from, LocalDate to, Long itemId) {
+    String itemCond = itemId == null ? "" : " and s.itemId = :itemId";
+    String entryCond = itemId == null ? "" : " and e.itemId = :itemId";
+    return setItemId(em.createQuery("select u.salesDate, u.itemId, sum(u.quantity), sum(u.revenue) from (" +
+        " select s.salesDate as salesDate, s.itemId as itemId, s.quantity as quantity, s.revenue as revenue" +
+        " from ItemDailySales s" +
+        " where s.salesDate between :from and :to" + itemCond +
+        " union all" +
+        " select e.salesDate, e.itemId, cast(e.quantity as Long), e.revenue" +
+        " from ItemSalesEntry e" +
+        " where e.salesDate between :from and :to" + entryCond +
+        ") u" +
+        " group by u.salesDate, u.itemId" +
+        " order by u.salesDate, u.itemId", Object[].class), itemId)
+        .setParameter("from", from)
+        .setParameter("to", to)
+        .getResultList();
+  }
+
+  private static <T> TypedQuery<T> setItemId(TypedQuery<T> query, Long itemId) {
+    return itemId == null ? query : query.setParameter("itemId", itemId);
+  }
+
+  /*
+   * 집계 재생성 (복구용): 취소되지 않은 주문의 (상품, 주문 일자)별 주문 상품 합계
+   * - 결과: [item_id, 주문 일자, 수량, 매출]
+   * - 주문 이력 전체를 읽으므로 트래픽이 적을 때만 실행
+   */
+  public List<Object[]> sumOrderedItemsByDay() {
+    return em.createQuery("select oi.item.id, cast(o.orderDate as LocalDate), sum(oi.count), sum(oi.orderPrice * oi.count)" +
+        " from OrderItem oi" +
+        " join oi.order o" +
+        " where o.status = :status" +
+        " group by oi.item.id, cast(o.orderDate as LocalDate)", Object[].class)
+        .setParameter("status", OrderStatus.ORDER)
+        .getResultList();
+  }
+
+  public void deleteAll() {
+    em.createQuery("delete from ItemSalesEntry e").executeUpdate();
+    em.createQuery("delete from ItemDailySales s").executeUpdate();
+  }
+}
@@ -0,0 +1,11 @@
+package jpabook.jpashop.repository;
+
+/*
+ * 주문 검색 시 회원 이름 검색 방식
+ * - PREFIX: 이름이 검색어로 시작
+ * - CONTAINS: 이름에 검색어 포함
+ * - 둘 다 대소문자 구분 없음, member_name_gram 인덱스 사용 (1글자 검색은 전체 스캔)
+ */
+public enum MemberNameMatch {
+    PREFIX, CONTAINS
+}
@@ -1,6 +1,8 @@
 package jpabook.jpashop.repository;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
@@ -31,6 +33,18 @@ public class MemberRepository {
     em.persist(member);
   }
 
+  // 유니크 제약 위반을 바로 확인하기 위해 INSERT 즉시 실행
+  // 위반 시 @Repository 예외 변환으로 DataIntegrityViolationException 발생
+  public void saveAndFlush(Member member) {
+    em.persist(member);
+    em.flush();
+  }
+
+  // 변경 감지로 수정한 이름의 유니크 제약 위반을 바로 확인 (예외 변환은 saveAndFlush와 동일)
+  public void flush() {
+    em.flush();
+  }
+
   public Member findOne(Long id) {
     return em.find(Member.class, id);
   }
@@ -45,4 +59,22 @@ public class MemberRepository {
         .setParameter("name", name)
         .getResultList();
   }
+
+  // 이름 gram이 없는 회원 (member_name_gram 도입 전 가입), member_id 순
+  public List<Member> findWithoutNameGrams(Long afterId, int limit) {
+    return em.createQuery("select m from Member m" +
+        " where m.id > :afterId and length(m.name) >= 2 and m.nameGrams is empty" +
+        " order by m.id", Member.class)
+        .setParameter("afterId", afterId)
+        .setMaxResults(limit)
+        .getResultList();
+  }
+
+  // 전체 회원 이름을 메모리에 올리지 않고 한 건씩 처리
+  @Transactional(readOnly = true)
+  public void forEachName(Consumer<String> action) {
+    try (Stream<String> names = em.createQuery("select m.name from Member m", String.class).getResultStream()) {
+      names.forEach(action);
+    }
+  }
 }
@@ -0,0 +1,24 @@
+package jpabook.jpashop.repository;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/*
+ * 주문 조회 fetch plan: Order의 @NamedEntityGraph 이름
+ * - ORDER: 주문만 (연관관계는 모두 지연 로딩)
+ * - MEMBER_DELIVERY: 회원, 배송
+ * - ITEMS: 회원, 배송, 주문 상품, 상품
+ * - ITEM_CATEGORIES: ITEMS + 상품 카테고리
+ * - 컬렉션을 포함한 plan은 주문 id를 먼저 조회한 뒤 그래프로 조회 (쿼리 2번)
+ */
+@Getter
+@RequiredArgsConstructor
+public enum OrderFetchPlan {
+  ORDER(null, false),
+  MEMBER_DELIVERY("Order.withMemberDelivery", false),
+  ITEMS("Order.withItems", true),
+  ITEM_CATEGORIES("Order.withItemCategories", true);
+
+  private final String graphName;
+  private final boolean fetchesCollection;
+}
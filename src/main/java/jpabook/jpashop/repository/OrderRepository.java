@@ -2,11 +2,22 @@ package jpabook.jpashop.repository;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.StringUtils;
 
+import com.querydsl.core.types.OrderSpecifier;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.StringPath;
+import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 
 import jakarta.persistence.EntityManager;
@@ -41,18 +52,122 @@ public class OrderRepository {
   // 주문 검색 기능
   // Querydsl
   public List<Order> findAll(OrderSearch orderSearch) {
+    return findAll(orderSearch, OrderFetchPlan.ORDER);
+  }
+
+  /*
+   * 주문 검색 + fetch plan (Order의 @NamedEntityGraph)
+   * - fetchgraph 힌트: 그래프에 있는 연관관계만 fetch join, 나머지는 지연 로딩
+   * - 컬렉션을 포함한 plan은 fetch join 쿼리에 limit을 걸면 메모리 페이징이 되므로
+   *   조건에 맞는 주문 id를 먼저 limit으로 조회한 뒤 그 id의 주문만 그래프로 조회
+   */
+  public List<Order> findAll(OrderSearch orderSearch, OrderFetchPlan plan) {
     QOrder order = QOrder.order;
     QMember member = QMember.member;
 
     JPAQueryFactory query = new JPAQueryFactory(em);
 
-    return query.select(order)
+    if (!plan.isFetchesCollection()) {
+      return withPlan(query.select(order)
+          .from(order)
+          .join(order.member, member)
+          .where(statusEq(orderSearch.getOrderStatus()),
+              nameLike(orderSearch.getMemberName()))
+          .limit(1000), plan)
+          .fetch();
+    }
+
+    List<Long> ids = query.select(order.id)
         .from(order)
         .join(order.member, member)
         .where(statusEq(orderSearch.getOrderStatus()),
             nameLike(orderSearch.getMemberName()))
+        .orderBy(order.id.asc())
         .limit(1000)
         .fetch();
+    if (ids.isEmpty()) {
+      return List.of();
+    }
+
+    return withPlan(query.selectFrom(order)
+        .where(order.id.in(ids))
+        .orderBy(order.id.asc()), plan)
+        .fetch();
+  }
+
+  private <T> JPAQuery<T> withPlan(JPAQuery<T> query, OrderFetchPlan plan) {
+    if (plan.getGraphName() != null) {
+      query.setHint(SpecHints.HINT_SPEC_FETCH_GRAPH, em.getEntityGraph(plan.getGraphName()));
+    }
+    return query;
+  }
+
+  /*
+   * 주문 검색 (페이징)
+   * - 상태 + 최신순 정렬은 orders(status, order_date) 인덱스 사용
+   * - 주문 금액순 정렬은 orders.total_price 컬럼으로 정렬하므로 order_item을 읽지 않음
+   * - 회원 이름은 member 테이블을 조인해서 스캔하지 않고, 인덱스로 찾은 회원 id 서브쿼리로 조건 적용
+   */
+  public Page<Order> search(OrderSearch orderSearch, Pageable pageable) {
+    QOrder order = QOrder.order;
+    QMember member = QMember.member;
+
+    JPAQueryFactory query = new JPAQueryFactory(em);
+
+    List<Order> content = query.selectFrom(order)
+        .join(order.member, member).fetchJoin()
+        .where(statusEq(orderSearch.getOrderStatus()),
+            memberNameMatches(orderSearch.getMemberName(), orderSearch.getNameMatch()))
+        .orderBy(orderBy(orderSearch.getSort()))
+        .offset(pageable.getOffset())
+        .limit(pageable.getPageSize())
+        .fetch();
+
+    Long total = query.select(order.count())
+        .from(order)
+        .where(statusEq(orderSearch.getOrderStatus()),
+            memberNameMatches(orderSearch.getMemberName(), orderSearch.getNameMatch()))
+        .fetchOne();
+
+    return new PageImpl<>(content, pageable, total == null ? 0 : total);
+  }
+
+  private OrderSpecifier<?>[] orderBy(OrderSort sort) {
+    QOrder order = QOrder.order;
+    if (sort == OrderSort.TOTAL_PRICE) {
+      return new OrderSpecifier<?>[] {order.totalPrice.desc(), order.id.desc()};
+    }
+    return new OrderSpecifier<?>[] {order.orderDate.desc(), order.id.desc()};
+  }
+
+  private BooleanExpression memberNameMatches(String nameCond, MemberNameMatch match) {
+    if (!StringUtils.hasText(nameCond)) {
+      return null;
+    }
+
+    // PREFIX, CONTAINS 모두 대소문자 구분 없음 (gram도 소문자로 저장)
+    QMember searchMember = new QMember("searchMember");
+    BooleanExpression nameCondition = match == MemberNameMatch.PREFIX
+        ? searchMember.name.startsWithIgnoreCase(nameCond)
+        : searchMember.name.containsIgnoreCase(nameCond);
+
+    Set<String> grams = Member.toNameGrams(nameCond);
+    if (grams.isEmpty()) {
+      // 1글자 검색은 gram이 없으므로 이름 전체 스캔
+      return QOrder.order.member.id.in(JPAExpressions.select(searchMember.id)
+          .from(searchMember)
+          .where(nameCondition));
+    }
+
+    // gram을 모두 가진 회원을 인덱스로 찾은 뒤, 실제로 조건에 맞는지 다시 확인 (gram 순서, 위치가 다른 오탐 제거)
+    // lower(name) 비교는 이름 인덱스를 사용할 수 없으므로 PREFIX도 gram 인덱스로 후보를 좁힘
+    StringPath gram = Expressions.stringPath("gram");
+    return QOrder.order.member.id.in(JPAExpressions.select(searchMember.id)
+        .from(searchMember)
+        .join(searchMember.nameGrams, gram)
+        .where(gram.in(grams), nameCondition)
+        .groupBy(searchMember.id)
+        .having(gram.countDistinct().eq((long) grams.size())));
   }
 
   private BooleanExpression statusEq(OrderStatus orderCond) {
@@ -120,6 +235,33 @@ public class OrderRepository {
         .getResultList();
   }
 
+  /*
+   * 컬렉션 fetch join 페이징 (2단계 조회)
+   * - 1단계: 주문 id만 DB에서 페이징 (조인이 없으므로 행 = 주문)
+   * - 2단계: 해당 id의 주문만 컬렉션까지 fetch join (in 절 크기 = 페이지 크기)
+   * - fetch join 쿼리에 setMaxResults를 쓰면 모든 행을 메모리에 올린 뒤 페이징하므로 사용하지 않음
+   * - 전체 개수는 첫/마지막 페이지처럼 결과만으로 알 수 있으면 조회하지 않음
+   */
+  public Page<Order> findAllWithItem(Pageable pageable) {
+    List<Long> ids = em.createQuery("select o.id from Order o order by o.id", Long.class)
+        .setFirstResult((int) pageable.getOffset())
+        .setMaxResults(pageable.getPageSize())
+        .getResultList();
+
+    List<Order> content = ids.isEmpty() ? List.of() : em.createQuery("select distinct o from Order o" +
+        " join fetch o.member m" +
+        " join fetch o.delivery d" +
+        " join fetch o.orderItems oi" +
+        " join fetch oi.item i" +
+        " where o.id in :ids" +
+        " order by o.id", Order.class)
+        .setParameter("ids", ids)
+        .getResultList();
+
+    return PageableExecutionUtils.getPage(content, pageable,
+        () -> em.createQuery("select count(o) from Order o", Long.class).getSingleResult());
+  }
+
   // fetch join with paging
   public List<Order> findAllWithMemberDelivery(int offset, int limit) {
     return em.createQuery("select o from Order o" +
@@ -129,4 +271,51 @@ public class OrderRepository {
         .setMaxResults(limit)
         .getResultList();
   }
-}
\ No newline at end of file
+
+  // keyset(seek) paging: offset 대신 마지막으로 조회한 order_id 이후부터 조회
+  // PK 인덱스로 바로 탐색하므로 페이지가 깊어져도 앞쪽 행을 읽고 버리지 않음
+  // 컬렉션(orderItems)은 기존과 동일하게 default_batch_fetch_size로 IN 조회
+  public List<Order> findAllWithMemberDeliveryAfter(Long lastOrderId, int limit) {
+    return em.createQuery("select o from Order o" +
+        " join fetch o.member m" +
+        " join fetch o.delivery d" +
+        " where o.id > :lastOrderId" +
+        " order by o.id", Order.class)
+        .setParameter("lastOrderId", lastOrderId == null ? 0L : lastOrderId)
+        .setMaxResults(limit)
+        .getResultList();
+  }
+
+  /*
+   * 비정규화 컬럼(total_price, item_count) 백필: order_id 구간 단위로 주문 상품 합계를 다시 계산
+   * - 한 번에 전체를 갱신하지 않고 구간별 트랜잭션으로 나눠 락 유지 시간을 제한
+   */
+  public int backfillTotals(Long fromId, Long toId) {
+    return em.createQuery("update Order o" +
+        " set o.totalPrice = coalesce((select sum(oi.orderPrice * oi.count) from OrderItem oi where oi.order = o), 0)," +
+        " o.itemCount = (select count(oi) from OrderItem oi where oi.order = o)" +
+        " where o.id between :fromId and :toId")
+        .setParameter("fromId", fromId)
+        .setParameter("toId", toId)
+        .executeUpdate();
+  }
+
+  public Long findMaxId() {
+    return em.createQuery("select max(o.id) from Order o", Long.class).getSingleResult();
+  }
+
+  /*
+   * 정합성 확인: 비정규화 컬럼과 주문 상품 합계가 다른 주문
+   * - 결과: [order_id, total_price, 합계 금액, item_count, 주문 상품 수]
+   */
+  public List<Object[]> findTotalDrift(int limit) {
+    return em.createQuery("select o.id, o.totalPrice, coalesce(sum(oi.orderPrice * oi.count), 0), o.itemCount, count(oi)" +
+        " from Order o" +
+        " left join o.orderItems oi" +
+        " group by o.id, o.totalPrice, o.itemCount" +
+        " having o.totalPrice <> coalesce(sum(oi.orderPrice * oi.count), 0) or o.itemCount <> count(oi)" +
+        " order by o.id", Object[].class)
+        .setMaxResults(limit)
+        .getResultList();
+  }
+}
@@ -9,4 +9,6 @@ public class OrderSearch {
 
     private String memberName;
     private OrderStatus orderStatus;
+    private MemberNameMatch nameMatch = MemberNameMatch.CONTAINS;
+    private OrderSort sort = OrderSort.LATEST;
 }
@@ -0,0 +1,10 @@
+package jpabook.jpashop.repository;
+
+/*
+ * 주문 검색 정렬
+ * - LATEST: 최신순 (orders(status, order_date) 인덱스)
+ * - TOTAL_PRICE: 주문 금액 높은순, orders.total_price 컬럼만 사용 (주문 상품 합산 없음, idx_orders_total_price)
+ */
+public enum OrderSort {
+    LATEST, TOTAL_PRICE
+}
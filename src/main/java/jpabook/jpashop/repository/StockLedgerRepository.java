@@ -0,0 +1,63 @@
+package jpabook.jpashop.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.StockLedgerEntry;
+import lombok.RequiredArgsConstructor;
+
+@Repository
+@RequiredArgsConstructor
+public class StockLedgerRepository {
+
+  private final EntityManager em;
+
+  public void save(StockLedgerEntry entry) {
+    em.persist(entry);
+  }
+
+  // 현재 판매 가능 재고 = DB 재고 + 아직 반영되지 않은 원장 합계 (읽은 시점의 상품 버전과 함께)
+  // 쿼리 한 번으로 읽어야 flush 도중에도 이중으로 계산되지 않음
+  public AvailableStock findAvailableStock(Long itemId) {
+    Object[] row = em.createQuery("select i.stockQuantity," +
+        " (select coalesce(sum(e.delta), 0) from StockLedgerEntry e where e.itemId = i.id)," +
+        " i.version" +
+        " from Item i where i.id = :itemId", Object[].class)
+        .setParameter("itemId", itemId)
+        .getSingleResult();
+    return new AvailableStock(((Number) row[0]).longValue() + ((Number) row[1]).longValue(),
+        ((Number) row[2]).longValue());
+  }
+
+  // 여러 상품의 판매 가능 재고 (상품 id -> DB 재고 + 미반영 원장 합계), findAvailableStock과 같은 이유로 쿼리 한 번
+  public Map<Long, Long> findAvailableStocks(Collection<Long> itemIds) {
+    return em.createQuery("select i.id, i.stockQuantity," +
+        " (select coalesce(sum(e.delta), 0) from StockLedgerEntry e where e.itemId = i.id)" +
+        " from Item i where i.id in :itemIds", Object[].class)
+        .setParameter("itemIds", itemIds)
+        .getResultList().stream()
+        .collect(Collectors.toMap(row -> (Long) row[0],
+            row -> ((Number) row[1]).longValue() + ((Number) row[2]).longValue()));
+  }
+
+  public List<StockLedgerEntry> findPending(int limit) {
+    return em.createQuery("select e from StockLedgerEntry e order by e.id", StockLedgerEntry.class)
+        .setMaxResults(limit)
+        .getResultList();
+  }
+
+  // 합산한 원장만 id로 지정하여 삭제 (합산 이후 커밋된 원장은 다음 flush에서 반영)
+  public int deleteAll(List<Long> ids) {
+    return em.createQuery("delete from StockLedgerEntry e where e.id in :ids")
+        .setParameter("ids", ids)
+        .executeUpdate();
+  }
+
+  public record AvailableStock(long quantity, long version) {
+  }
+}
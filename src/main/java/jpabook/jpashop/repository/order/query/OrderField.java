@@ -0,0 +1,49 @@
+package jpabook.jpashop.repository.order.query;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.springframework.util.StringUtils;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/*
+ * 주문 조회 API에서 선택할 수 있는 필드 (?fields=orderId,orderStatus,totalPrice)
+ * - 이름은 응답 JSON 필드 이름과 같음
+ * - 빈 값이면 전체 필드
+ */
+@Getter
+@RequiredArgsConstructor
+public enum OrderField {
+    ORDER_ID("orderId"),
+    NAME("name"),
+    ORDER_DATE("orderDate"),
+    ORDER_STATUS("orderStatus"),
+    ADDRESS("address"),
+    TOTAL_PRICE("totalPrice"),
+    ORDER_ITEMS("orderItems");
+
+    private final String fieldName;
+
+    public static Set<OrderField> parse(String fields) {
+        if (!StringUtils.hasText(fields)) {
+            return EnumSet.allOf(OrderField.class);
+        }
+
+        Set<OrderField> result = EnumSet.noneOf(OrderField.class);
+        for (String name : StringUtils.commaDelimitedListToStringArray(fields)) {
+            result.add(of(name.trim()));
+        }
+        return result;
+    }
+
+    private static OrderField of(String fieldName) {
+        for (OrderField field : values()) {
+            if (field.fieldName.equals(fieldName)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("지원하지 않는 필드입니다: " + fieldName);
+    }
+}
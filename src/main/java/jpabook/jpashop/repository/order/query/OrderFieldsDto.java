@@ -0,0 +1,24 @@
+package jpabook.jpashop.repository.order.query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.OrderStatus;
+import lombok.Data;
+
+// 요청한 필드만 채운 주문 DTO: 요청하지 않은 필드(null)는 응답에서 제외
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrderFieldsDto {
+
+    private Long orderId;
+    private String name;
+    private LocalDateTime orderDate;
+    private OrderStatus orderStatus;
+    private Address address;
+    private Integer totalPrice;
+    private List<OrderItemQueryDto> orderItems;
+}
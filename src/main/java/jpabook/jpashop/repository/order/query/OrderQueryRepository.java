@@ -1,19 +1,56 @@
 package jpabook.jpashop.repository.order.query;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Expression;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
 
 import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.QDelivery;
+import jpabook.jpashop.domain.QMember;
+import jpabook.jpashop.domain.QOrder;
+import jpabook.jpashop.monitoring.DtoAssemblyEvent;
 import lombok.RequiredArgsConstructor;
 
+// OSIV OFF: 컨트롤러에서 바로 호출하므로 조회 메서드마다 읽기 전용 트랜잭션 사용
 @Repository
+@Transactional(readOnly = true)
 @RequiredArgsConstructor
 public class OrderQueryRepository {
 
     private final EntityManager em;
+    private final PlatformTransactionManager transactionManager;
+    private final TaskExecutor orderQueryExecutor;
+
+    // IN 절 하나에 넣을 최대 주문 id 수 (DB 파라미터 제한, 실행 계획 크기 고려)
+    @Value("${jpashop.order-query.in-chunk-size:1000}")
+    private int inChunkSize;
+
+    // 청크가 여러 개일 때 orderQueryExecutor에서 동시에 조회할지 여부
+    @Value("${jpashop.order-query.parallel:false}")
+    private boolean parallel;
 
     /**
      * 컬렉션은 별도로 조회
@@ -21,12 +58,18 @@ public class OrderQueryRepository {
      * 단건 조회에서 많이 사용하는 방식
      */
     public List<OrderQueryDto> findOrderQueryDtos() {
+        DtoAssemblyEvent rootEvent = DtoAssemblyEvent.start("findOrderQueryDtos", "root");
         List<OrderQueryDto> result = findOrders(); // 쿼리 1번 -> N개 주문 반환
+        rootEvent.end(result.size(), result.size());
 
-        result.forEach(o -> {
+        DtoAssemblyEvent collectionEvent = DtoAssemblyEvent.start("findOrderQueryDtos", "collection");
+        int rows = 0;
+        for (OrderQueryDto o : result) {
             List<OrderItemQueryDto> orderItems = findOrderItems(o.getOrderId()); // 주문 개수만큼 쿼리 N번: N + 1 문제 발생
             o.setOrderItems(orderItems);
-        });
+            rows += orderItems.size();
+        }
+        collectionEvent.end(result.size(), rows);
 
         return result;
     }
@@ -55,26 +98,201 @@ public class OrderQueryRepository {
                 .getResultList();
     }
 
+    /**
+     * 루트 1번 + 주문 상품 IN 쿼리(inChunkSize 단위)
+     * - 병렬 조회 시 루트 조회 트랜잭션을 먼저 끝내고(커넥션 반납) 청크를 조회
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<OrderQueryDto> findAllByDto_optimized() {
-        List<OrderQueryDto> result = findOrders();
+        boolean fanOut = canFanOut();
+        if (!fanOut) {
+            return readOnlyTx(TransactionDefinition.PROPAGATION_REQUIRED).execute(status -> findAllByDto_optimized(false));
+        }
+        return findAllByDto_optimized(true);
+    }
+
+    private List<OrderQueryDto> findAllByDto_optimized(boolean fanOut) {
+        DtoAssemblyEvent rootEvent = DtoAssemblyEvent.start("findAllByDto_optimized", "root");
+        List<OrderQueryDto> result = inRootTx(fanOut, () -> findOrders());
+        rootEvent.end(result.size(), result.size());
 
-        Map<Long, List<OrderItemQueryDto>> orderItemMap = findOrderItemMap(toOrderIds(result));
+        DtoAssemblyEvent collectionEvent = DtoAssemblyEvent.start("findAllByDto_optimized", "collection");
+        Map<Long, List<OrderItemQueryDto>> orderItemMap = findOrderItemMap(toOrderIds(result), fanOut);
+        collectionEvent.end(orderItemMap.size(), orderItemMap.values().stream().mapToInt(List::size).sum());
 
+        DtoAssemblyEvent assembleEvent = DtoAssemblyEvent.start("findAllByDto_optimized", "assemble");
         result.forEach(o -> o.setOrderItems(orderItemMap.get(o.getOrderId())));
+        assembleEvent.end(result.size(), 0);
         return result;
     }
 
-    private Map<Long, List<OrderItemQueryDto>> findOrderItemMap(List<Long> orderIds) {
-        List<OrderItemQueryDto> orderItems = em.createQuery(
+    /**
+     * 요청한 필드만 조회 (?fields=)
+     * - 요청한 컬럼만 select, 회원 이름/주소를 요청하지 않으면 member/delivery 조인 생략
+     * - 주문 상품을 요청하지 않으면 주문 상품 IN 쿼리 생략
+     * - 주문 상품 매핑을 위해 order_id는 항상 조회 (응답에는 요청했을 때만 포함)
+     * - 총액: orders.total_price 컬럼 (주문 상품을 읽지 않음)
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<OrderFieldsDto> findOrderFields(Set<OrderField> fields, int offset, int limit) {
+        boolean fanOut = canFanOut() && fields.contains(OrderField.ORDER_ITEMS);
+        if (!fanOut) {
+            return readOnlyTx(TransactionDefinition.PROPAGATION_REQUIRED).execute(status -> findOrderFields(fields, offset, limit, false));
+        }
+        return findOrderFields(fields, offset, limit, true);
+    }
+
+    private List<OrderFieldsDto> findOrderFields(Set<OrderField> fields, int offset, int limit, boolean fanOut) {
+        QOrder order = QOrder.order;
+        QMember member = QMember.member;
+        QDelivery delivery = QDelivery.delivery;
+
+        List<Expression<?>> select = new ArrayList<>();
+        select.add(order.id);
+        if (fields.contains(OrderField.NAME)) {
+            select.add(member.name);
+        }
+        if (fields.contains(OrderField.ORDER_DATE)) {
+            select.add(order.orderDate);
+        }
+        if (fields.contains(OrderField.ORDER_STATUS)) {
+            select.add(order.status);
+        }
+        if (fields.contains(OrderField.ADDRESS)) {
+            select.add(delivery.address);
+        }
+        if (fields.contains(OrderField.TOTAL_PRICE)) {
+            select.add(order.totalPrice);
+        }
+
+        JPAQuery<Tuple> query = new JPAQueryFactory(em)
+                .select(select.toArray(new Expression<?>[0]))
+                .from(order);
+        if (fields.contains(OrderField.NAME)) {
+            query.join(order.member, member);
+        }
+        if (fields.contains(OrderField.ADDRESS)) {
+            query.join(order.delivery, delivery);
+        }
+        List<Tuple> tuples = inRootTx(fanOut, () -> query.orderBy(order.id.asc())
+                .offset(offset)
+                .limit(limit)
+                .fetch());
+
+        List<Long> orderIds = new ArrayList<>();
+        List<OrderFieldsDto> result = new ArrayList<>();
+        for (Tuple tuple : tuples) {
+            OrderFieldsDto dto = new OrderFieldsDto();
+            Long orderId = tuple.get(order.id);
+            orderIds.add(orderId);
+            if (fields.contains(OrderField.ORDER_ID)) {
+                dto.setOrderId(orderId);
+            }
+            if (fields.contains(OrderField.NAME)) {
+                dto.setName(tuple.get(member.name));
+            }
+            if (fields.contains(OrderField.ORDER_DATE)) {
+                dto.setOrderDate(tuple.get(order.orderDate));
+            }
+            if (fields.contains(OrderField.ORDER_STATUS)) {
+                dto.setOrderStatus(tuple.get(order.status));
+            }
+            if (fields.contains(OrderField.ADDRESS)) {
+                dto.setAddress(tuple.get(delivery.address));
+            }
+            if (fields.contains(OrderField.TOTAL_PRICE)) {
+                dto.setTotalPrice(tuple.get(order.totalPrice));
+            }
+            result.add(dto);
+        }
+
+        if (fields.contains(OrderField.ORDER_ITEMS) && !orderIds.isEmpty()) {
+            Map<Long, List<OrderItemQueryDto>> orderItemMap = findOrderItemMap(orderIds, fanOut);
+            for (int i = 0; i < result.size(); i++) {
+                result.get(i).setOrderItems(orderItemMap.getOrDefault(orderIds.get(i), List.of()));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 주문 id를 inChunkSize 단위로 나누어 IN 쿼리 실행 후 병합
+     * - 청크 내부 파라미터 개수는 hibernate.query.in_clause_parameter_padding 설정으로 2의 거듭제곱으로 맞춰
+     *   실행 계획을 재사용
+     * - fanOut이면 청크마다 별도의 읽기 전용 트랜잭션으로 동시 조회
+     */
+    private Map<Long, List<OrderItemQueryDto>> findOrderItemMap(List<Long> orderIds, boolean fanOut) {
+        List<List<Long>> chunks = chunk(orderIds, inChunkSize);
+
+        List<OrderItemQueryDto> orderItems;
+        if (fanOut) {
+            orderItems = findOrderItemsInParallel(chunks);
+        } else {
+            orderItems = new ArrayList<>();
+            for (List<Long> chunk : chunks) {
+                orderItems.addAll(findOrderItemsIn(chunk));
+            }
+        }
+
+        Map<Long, List<OrderItemQueryDto>> orderItemMap = orderItems.stream().collect(Collectors.groupingBy(OrderItemQueryDto -> OrderItemQueryDto.getOrderId()));
+        return orderItemMap;
+    }
+
+    private List<OrderItemQueryDto> findOrderItemsIn(List<Long> orderIds) {
+        return em.createQuery(
                 "select new jpabook.jpashop.repository.order.query.OrderItemQueryDto(oi.order.id, i.name, oi.orderPrice, oi.count)" +
                 " from OrderItem oi" +
                 " join oi.item i" +
                 " where oi.order.id in :orderIds", OrderItemQueryDto.class)
                 .setParameter("orderIds", orderIds)
                 .getResultList();
+    }
 
-        Map<Long, List<OrderItemQueryDto>> orderItemMap = orderItems.stream().collect(Collectors.groupingBy(OrderItemQueryDto -> OrderItemQueryDto.getOrderId()));
-        return orderItemMap;
+    // 호출 스레드는 커넥션 없이 기다림 (canFanOut), 동시 조회 수는 orderQueryExecutor 크기로 제한
+    private List<OrderItemQueryDto> findOrderItemsInParallel(List<List<Long>> chunks) {
+        TransactionTemplate readOnlyTx = readOnlyTx(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        List<CompletableFuture<List<OrderItemQueryDto>>> futures = chunks.stream()
+                .map(chunk -> CompletableFuture.supplyAsync(
+                        () -> readOnlyTx.execute(status -> findOrderItemsIn(chunk)), orderQueryExecutor))
+                .collect(Collectors.toList());
+
+        List<OrderItemQueryDto> orderItems = new ArrayList<>();
+        futures.forEach(f -> orderItems.addAll(f.join()));
+        return orderItems;
+    }
+
+    /*
+     * 청크 병렬 조회는 호출 스레드에 진행 중인 트랜잭션(커넥션)이 없을 때만 사용
+     * - 커넥션을 쥔 채 각자 커넥션이 필요한 작업을 기다리면, 동시 요청이 풀을 모두 차지했을 때
+     *   작업이 커넥션을 얻지 못해 서로 대기 (풀 고갈)
+     * - 외부 트랜잭션이 있으면 그 트랜잭션에서 순차 조회 (같은 스냅샷, 커밋 전 데이터도 조회)
+     */
+    private boolean canFanOut() {
+        return parallel && !TransactionSynchronizationManager.isActualTransactionActive();
+    }
+
+    // fanOut이면 루트 조회만 짧은 트랜잭션으로 실행해 청크 조회 전에 커넥션을 반납
+    private <T> T inRootTx(boolean fanOut, Supplier<T> query) {
+        if (!fanOut) {
+            return query.get();
+        }
+        return readOnlyTx(TransactionDefinition.PROPAGATION_REQUIRED).execute(status -> query.get());
+    }
+
+    private TransactionTemplate readOnlyTx(int propagation) {
+        TransactionTemplate readOnlyTx = new TransactionTemplate(transactionManager);
+        readOnlyTx.setReadOnly(true);
+        readOnlyTx.setPropagationBehavior(propagation);
+        return readOnlyTx;
+    }
+
+    private static List<List<Long>> chunk(List<Long> ids, int size) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += size) {
+            chunks.add(ids.subList(from, Math.min(from + size, ids.size())));
+        }
+        return chunks;
     }
 
     private List<Long> toOrderIds(List<OrderQueryDto> result) {
@@ -84,12 +302,61 @@ public class OrderQueryRepository {
     }
 
     public List<OrderFlatDto> findAllByDto_flat() {
-        return em.createQuery("select new jpabook.jpashop.repository.order.query.OrderFlatDto(o.id, m.name, o.orderDate, o.status, d.address, i.name, oi.orderPrice, oi.count)" +
+        DtoAssemblyEvent event = DtoAssemblyEvent.start("findAllByDto_flat", "root");
+        List<OrderFlatDto> flats = em.createQuery("select new jpabook.jpashop.repository.order.query.OrderFlatDto(o.id, m.name, o.orderDate, o.status, d.address, i.name, oi.orderPrice, oi.count)" +
                             " from Order o" +
                             " join o.member m" +
                             " join o.delivery d" + 
                             " join o.orderItems oi" + 
                             " join oi.item i", OrderFlatDto.class)
                             .getResultList();
+        event.end(0, flats.size());
+        return flats;
+    }
+
+    /**
+     * 플랫 데이터 스트리밍 조회
+     * - o.id 순으로 정렬된 JOIN 결과를 Stream으로 한 행씩 읽으면서
+     * - 연속된 같은 주문의 행을 OrderQueryDto 하나로 묶어 바로 consumer에 전달
+     * - 전체 결과를 List로 올리지 않으므로 결과 크기와 무관하게 메모리 사용량이 일정하고 주문 순서도 유지됨
+     */
+    @Transactional(readOnly = true)
+    public void streamAllByDto_flat(Consumer<OrderQueryDto> consumer) {
+        // 행을 읽으면서 바로 응답에 쓰므로 조회, 조립, 직렬화가 하나의 이벤트로 기록됨
+        DtoAssemblyEvent event = DtoAssemblyEvent.start("streamAllByDto_flat", "assemble");
+        int orders = 0;
+        int rows = 0;
+        try (Stream<OrderFlatDto> flats = em.createQuery("select new jpabook.jpashop.repository.order.query.OrderFlatDto(o.id, m.name, o.orderDate, o.status, d.address, i.name, oi.orderPrice, oi.count)" +
+                            " from Order o" +
+                            " join o.member m" +
+                            " join o.delivery d" +
+                            " join o.orderItems oi" +
+                            " join oi.item i" +
+                            " order by o.id", OrderFlatDto.class)
+                            .setHint(HibernateHints.HINT_FETCH_SIZE, 500)
+                            .getResultStream()) {
+
+            OrderQueryDto current = null;
+            Iterator<OrderFlatDto> iterator = flats.iterator();
+            while (iterator.hasNext()) {
+                OrderFlatDto flat = iterator.next();
+                rows++;
+                if (current == null || !current.getOrderId().equals(flat.getOrderId())) {
+                    if (current != null) {
+                        consumer.accept(current);
+                        orders++;
+                    }
+                    current = new OrderQueryDto(flat.getOrderId(), flat.getName(), flat.getOrderDate(),
+                            flat.getOrderStatus(), flat.getAddress(), new ArrayList<>());
+                }
+                current.getOrderItems().add(new OrderItemQueryDto(flat.getOrderId(), flat.getItemName(),
+                        flat.getOrderPrice(), flat.getCount()));
+            }
+            if (current != null) {
+                consumer.accept(current);
+                orders++;
+            }
+        }
+        event.end(orders, rows);
     }
 }
@@ -3,11 +3,14 @@ package jpabook.jpashop.repository.order.simplequery;
 import java.util.List;
 
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 
+// OSIV OFF: 컨트롤러에서 바로 호출하므로 읽기 전용 트랜잭션 사용
 @Repository
+@Transactional(readOnly = true)
 @RequiredArgsConstructor
 public class OrderSimpleQueryRepository {
 
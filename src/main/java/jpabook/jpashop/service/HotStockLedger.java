@@ -0,0 +1,174 @@
+package jpabook.jpashop.service;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jpabook.jpashop.repository.StockLedgerRepository.AvailableStock;
+
+/*
+ * 인기 상품(jpashop.stock.ledger.hot-item-ids) 재고를 메모리에서 관리하는 원장
+ * - 판매 가능 여부는 DB 행 락 없이 메모리 카운터에서 결정 (CAS, 락 없음)
+ * - 카운터를 여러 칸(stripe)으로 나누어 스레드 간 CAS 경합을 분산
+ * - 실제 재고 변경은 StockLedgerEntry로 기록되고 StockLedgerFlusher가 주기적으로 DB에 반영
+ * - 단일 애플리케이션 인스턴스 기준 (여러 인스턴스가 같은 상품을 인기 상품으로 지정하면 안 됨)
+ */
+@Component
+public class HotStockLedger {
+
+  private final Set<Long> hotItemIds;
+  private final int stripes;
+  private final ConcurrentHashMap<Long, StripedStock> stocks = new ConcurrentHashMap<>();
+
+  public HotStockLedger(@Value("${jpashop.stock.ledger.hot-item-ids:}") Set<Long> hotItemIds) {
+    this.hotItemIds = Set.copyOf(hotItemIds);
+    // CPU 수 * 2 이상의 2의 거듭제곱
+    this.stripes = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1) << 1;
+  }
+
+  public boolean isHot(Long itemId) {
+    return hotItemIds.contains(itemId);
+  }
+
+  /*
+   * 재고 예약
+   * - 처음 사용하는 상품은 availableStock(DB 재고 + 미반영 원장)으로 카운터 초기화
+   */
+  public boolean tryReserve(Long itemId, int quantity, Supplier<AvailableStock> availableStock) {
+    return stocks.computeIfAbsent(itemId, id -> new StripedStock(stripes, availableStock.get()))
+        .tryTake(quantity);
+  }
+
+  // 예약 취소(롤백) 또는 주문 취소 시 재고 반환
+  public void release(Long itemId, int quantity) {
+    StripedStock stock = stocks.get(itemId);
+    if (stock != null) {
+      stock.put(quantity);
+    }
+  }
+
+  /*
+   * 관리자가 재고를 직접 수정한 경우 커밋 후 변경량(delta)만큼 카운터 조정
+   * - 카운터를 비우고 DB에서 다시 읽으면 예약은 했지만 아직 커밋되지 않은 주문이 빠져 초과 판매
+   * - version: 수정 후 상품 버전, 카운터가 이미 이 버전 이후의 DB 값으로 초기화되었으면 변경량이 포함되어 있으므로 무시
+   * - 초기화와 조정은 같은 키에 대한 compute이므로 동시에 실행되지 않음
+   */
+  public void adjust(Long itemId, int delta, long version) {
+    stocks.computeIfPresent(itemId, (id, stock) -> {
+      if (stock.version < version) {
+        if (delta > 0) {
+          stock.put(delta);
+        } else if (delta < 0) {
+          stock.drain(-delta);
+        }
+      }
+      return stock;
+    });
+  }
+
+  // 테스트, 모니터링용: 현재 판매 가능 수량 (초기화 전이면 -1)
+  long available(Long itemId) {
+    StripedStock stock = stocks.get(itemId);
+    return stock == null ? -1 : stock.sum();
+  }
+
+  static final class StripedStock {
+
+    private final AtomicLongArray cells;
+    private final int mask;
+    private final long version;  // 초기화에 사용한 상품 버전
+    // 조정으로 줄여야 하는데 남은 재고가 부족했던 수량, 반환되는 재고로 먼저 상쇄
+    private final AtomicLong deficit = new AtomicLong();
+
+    StripedStock(int stripes, AvailableStock initial) {
+      long total = Math.max(0, initial.quantity());
+      this.cells = new AtomicLongArray(stripes);
+      this.mask = stripes - 1;
+      this.version = initial.version();
+      for (int i = 0; i < stripes; i++) {
+        cells.set(i, total / stripes + (i < total % stripes ? 1 : 0));
+      }
+    }
+
+    // 임의의 칸부터 돌면서 필요한 수량만큼 가져오고, 모자라면 가져온 만큼 되돌려 놓음
+    // 재고가 거의 소진된 시점에는 동시에 부분적으로 가져간 요청 때문에 일시적으로 실패할 수 있음
+    boolean tryTake(int quantity) {
+      int home = ThreadLocalRandom.current().nextInt() & mask;
+      long taken = 0;
+      for (int i = 0; i <= mask && taken < quantity; i++) {
+        int idx = (home + i) & mask;
+        while (true) {
+          long current = cells.get(idx);
+          if (current <= 0) {
+            break;
+          }
+          long take = Math.min(current, quantity - taken);
+          if (cells.compareAndSet(idx, current, current - take)) {
+            taken += take;
+            break;
+          }
+        }
+      }
+
+      if (taken < quantity) {
+        if (taken > 0) {
+          cells.addAndGet(home, taken);
+        }
+        return false;
+      }
+      return true;
+    }
+
+    void put(int quantity) {
+      long rest = quantity;
+      while (rest > 0) {
+        long owed = deficit.get();
+        if (owed <= 0) {
+          break;
+        }
+        long pay = Math.min(owed, rest);
+        if (deficit.compareAndSet(owed, owed - pay)) {
+          rest -= pay;
+        }
+      }
+      if (rest > 0) {
+        cells.addAndGet(ThreadLocalRandom.current().nextInt() & mask, rest);
+      }
+    }
+
+    // 수량만큼 모든 칸에서 가져가고, 부족하면 나머지는 deficit으로 남김 (칸은 음수가 되지 않음)
+    void drain(int quantity) {
+      long rest = quantity;
+      for (int idx = 0; idx <= mask && rest > 0; idx++) {
+        while (true) {
+          long current = cells.get(idx);
+          if (current <= 0) {
+            break;
+          }
+          long take = Math.min(current, rest);
+          if (cells.compareAndSet(idx, current, current - take)) {
+            rest -= take;
+            break;
+          }
+        }
+      }
+      if (rest > 0) {
+        deficit.addAndGet(rest);
+      }
+    }
+
+    long sum() {
+      long total = 0;
+      for (int i = 0; i <= mask; i++) {
+        total += cells.get(i);
+      }
+      return total - deficit.get();
+    }
+  }
+}
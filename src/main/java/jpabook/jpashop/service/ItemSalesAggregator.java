@@ -0,0 +1,142 @@
+package jpabook.jpashop.service;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jpabook.jpashop.domain.ItemDailySales;
+import jpabook.jpashop.domain.ItemSalesEntry;
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.OrderItem;
+import jpabook.jpashop.repository.ItemSalesRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * 상품별 일별 판매 집계 (item_daily_sales) 관리
+ * - 주문/취소 트랜잭션: 판매 변경분(ItemSalesEntry) INSERT만 (집계 행 락 없음)
+ * - 반영: 주기적으로 변경분을 (상품, 일자)별로 합산하여 집계 행에 반영하고 삭제 (StockLedgerFlusher와 같은 방식)
+ * - 배치(flush-batch-size)마다 별도 트랜잭션, 남은 변경분이 없을 때까지 반복
+ * - 반영은 인스턴스 하나에서만 실행된다고 가정 (집계 행 INSERT 경합 없음)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemSalesAggregator {
+
+  private final ItemSalesRepository itemSalesRepository;
+  private final PlatformTransactionManager transactionManager;
+
+  @Value("${jpashop.sales.flush-batch-size:10000}")
+  private int batchSize;
+
+  // 주문: 주문 상품마다 판매 변경분 기록
+  public void recordOrder(Order order) {
+    record(order, 1);
+  }
+
+  // 취소: 주문 일자의 판매량에서 차감
+  public void recordCancel(Order order) {
+    record(order, -1);
+  }
+
+  private void record(Order order, int sign) {
+    LocalDate salesDate = order.getOrderDate().toLocalDate();
+    for (OrderItem orderItem : order.getOrderItems()) {
+      itemSalesRepository.save(new ItemSalesEntry(orderItem.getItem().getId(), salesDate,
+          sign * orderItem.getCount(), sign * (long) orderItem.getTotalPrice()));
+    }
+  }
+
+  // 시작 시 이전 실행에서 반영되지 못한 변경분을 먼저 반영
+  @EventListener(ApplicationReadyEvent.class)
+  public void reconcile() {
+    int applied = applyAll();
+    if (applied > 0) {
+      log.info("item sales reconciled: {} entries", applied);
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${jpashop.sales.flush-interval:1000}")
+  public void flush() {
+    applyAll();
+  }
+
+  /*
+   * 집계 재생성 (복구용): 집계와 변경분을 모두 지우고 주문 상품에서 다시 계산
+   * - 재생성 중에 커밋된 주문은 누락되거나 중복될 수 있으므로 주문이 없을 때 실행
+   */
+  @Transactional
+  public int rebuild() {
+    itemSalesRepository.deleteAll();
+    List<Object[]> rows = itemSalesRepository.sumOrderedItemsByDay();
+    for (Object[] row : rows) {
+      ItemDailySales sales = new ItemDailySales((Long) row[0], (LocalDate) row[1]);
+      sales.add(((Number) row[2]).longValue(), ((Number) row[3]).longValue());
+      itemSalesRepository.save(sales);
+    }
+    log.info("item daily sales rebuilt: {} rows", rows.size());
+    return rows.size();
+  }
+
+  private int applyAll() {
+    TransactionTemplate tx = new TransactionTemplate(transactionManager);
+    int total = 0;
+    int applied;
+    do {
+      applied = tx.execute(status -> apply());
+      total += applied;
+    } while (applied > 0);
+    return total;
+  }
+
+  private int apply() {
+    List<ItemSalesEntry> entries = itemSalesRepository.findPending(batchSize);
+    if (entries.isEmpty()) {
+      return 0;
+    }
+
+    // (상품, 일자)별 합산
+    Map<Key, long[]> deltas = new HashMap<>();
+    for (ItemSalesEntry e : entries) {
+      long[] delta = deltas.computeIfAbsent(new Key(e.getItemId(), e.getSalesDate()), k -> new long[2]);
+      delta[0] += e.getQuantity();
+      delta[1] += e.getRevenue();
+    }
+
+    // 대상 집계 행을 한 번에 조회 (상품 id, 일자 범위로 좁힌 뒤 키로 매칭)
+    Set<Long> itemIds = deltas.keySet().stream().map(Key::itemId).collect(Collectors.toSet());
+    LocalDate from = Collections.min(deltas.keySet().stream().map(Key::salesDate).toList());
+    LocalDate to = Collections.max(deltas.keySet().stream().map(Key::salesDate).toList());
+    Map<Key, ItemDailySales> existing = itemSalesRepository.findDaily(itemIds, from, to).stream()
+        .collect(Collectors.toMap(s -> new Key(s.getItemId(), s.getSalesDate()), s -> s));
+
+    deltas.forEach((key, delta) -> {
+      ItemDailySales sales = existing.get(key);
+      if (sales == null) {
+        sales = new ItemDailySales(key.itemId(), key.salesDate());
+        itemSalesRepository.save(sales);
+      }
+      sales.add(delta[0], delta[1]);
+    });
+
+    itemSalesRepository.deleteEntries(entries.stream().map(ItemSalesEntry::getId).toList());
+    return entries.size();
+  }
+
+  private record Key(Long itemId, LocalDate salesDate) {
+  }
+}
@@ -4,6 +4,8 @@ import java.util.List;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import jpabook.jpashop.domain.item.Item;
 import jpabook.jpashop.repository.ItemRepository;
@@ -16,6 +18,7 @@ import lombok.RequiredArgsConstructor;
 public class ItemService {
   
   public final ItemRepository itemRepository;
+  private final HotStockLedger hotStockLedger;
 
   @Transactional
   public void save(Item item) {
@@ -40,10 +43,22 @@ public class ItemService {
     // 컨트롤러 계층에서 받아온 값을 이용하여 서비스 계층에서 수정
     // Setter 사용하지 말고 Setter 역할을 대체할 메서드를 생성하는 것을 권장
     // foundItem.changeData(name, price, stockQuantity);
+    int stockDelta = stockQuantity - foundItem.getStockQuantity();
     foundItem.setName(name);
     foundItem.setPrice(price);
     foundItem.setStockQuantity(stockQuantity);
 
+    // 인기 상품은 커밋 후 메모리 원장 카운터를 변경량만큼 조정
+    // @Version 검사로 커밋에 성공했다면 읽은 재고 이후 다른 변경(flush 포함)이 없었으므로 변경량이 정확함
+    if (hotStockLedger.isHot(itemId) && stockDelta != 0) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          hotStockLedger.adjust(itemId, stockDelta, foundItem.getVersion());
+        }
+      });
+    }
+
     // 조회한 엔티티는 영속성 엔티티이므로 커밋 시점에 변경 감지 (Dirty Checking) 동작하여 자동으로 업데이트
   }
 
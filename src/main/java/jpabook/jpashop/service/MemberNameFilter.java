@@ -0,0 +1,98 @@
+package jpabook.jpashop.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import jpabook.jpashop.repository.MemberRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * 회원 이름 Bloom 필터
+ * - mightContain == false 이면 한 번도 저장된 적 없는 이름 -> 중복 조회(SELECT) 생략 가능
+ * - true 이면 실제로 있을 수도, 없을 수도 있음(오탐) -> DB 조회로 확인
+ * - 시작 시 회원 테이블로 채우고, 이후 가입/이름 변경 시 추가 (삭제는 지원하지 않음)
+ * - 필터를 거치지 않고 저장된 이름은 DB 유니크 제약으로 잡히므로 정확성에는 영향 없음
+ */
+@Slf4j
+@Component
+public class MemberNameFilter {
+
+  private final MemberRepository memberRepository;
+  private final AtomicLongArray bits;
+  private final int numBits;
+  private final int numHashes;
+
+  // 시작 시 채우기 전에는 모든 이름을 있을 수 있다고 판단
+  private volatile boolean ready = false;
+
+  public MemberNameFilter(MemberRepository memberRepository,
+      @Value("${jpashop.member-filter.expected-insertions:1000000}") long expectedInsertions,
+      @Value("${jpashop.member-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+    this.memberRepository = memberRepository;
+    // 비트 수 m = -n ln p / (ln 2)^2, 해시 함수 수 k = m / n ln 2
+    long m = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+    this.numBits = (int) Math.max(64, Math.min(m, Integer.MAX_VALUE - 64));
+    this.numHashes = Math.max(1, (int) Math.round((double) numBits / expectedInsertions * Math.log(2)));
+    this.bits = new AtomicLongArray((numBits + 63) / 64);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void warmUp() {
+    long[] count = {0};
+    memberRepository.forEachName(name -> {
+      put(name);
+      count[0]++;
+    });
+    ready = true;
+    log.info("member name filter loaded: {} names, {} bits, {} hashes", count[0], numBits, numHashes);
+  }
+
+  public boolean mightContain(String name) {
+    if (!ready || name == null) {
+      return true;
+    }
+    long hash = hash64(name);
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32);
+    for (int i = 1; i <= numHashes; i++) {
+      int index = ((h1 + i * h2) & Integer.MAX_VALUE) % numBits;
+      if ((bits.get(index >>> 6) & (1L << index)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public void put(String name) {
+    if (name == null) {
+      return;
+    }
+    long hash = hash64(name);
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32);
+    for (int i = 1; i <= numHashes; i++) {
+      int index = ((h1 + i * h2) & Integer.MAX_VALUE) % numBits;
+      long mask = 1L << index;
+      bits.getAndAccumulate(index >>> 6, mask, (current, bit) -> current | bit);
+    }
+  }
+
+  // FNV-1a + MurmurHash3 fmix64
+  private static long hash64(String name) {
+    long h = 0xcbf29ce484222325L;
+    for (int i = 0; i < name.length(); i++) {
+      h ^= name.charAt(i);
+      h *= 0x100000001b3L;
+    }
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+}
@@ -1,14 +1,23 @@
 package jpabook.jpashop.service;
 
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
 
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import jpabook.jpashop.domain.Member;
 import jpabook.jpashop.repository.MemberRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @Service
 // 데이터 변경 없는 조회일 경우 readOnly 옵션 사용시 최적화 가능
 @Transactional(readOnly = true)
@@ -17,6 +26,8 @@ import lombok.RequiredArgsConstructor;
 public class MemberService {
 
   private final MemberRepository memberRepository;
+  private final MemberNameFilter memberNameFilter;
+  private final PlatformTransactionManager transactionManager;
 
   /*
    * // Setter Injection
@@ -42,20 +53,45 @@ public class MemberService {
   @Transactional
   public Long join(Member member) {
 
-    validateDuplicateMember(member);
-    memberRepository.save(member);
+    // 필터에 없는 이름은 한 번도 저장된 적 없는 이름이므로 중복 조회 생략
+    if (memberNameFilter.mightContain(member.getName())) {
+      validateDuplicateName(member.getName());
+    }
+
+    // 동시에 같은 이름으로 가입하는 경우는 유니크 제약으로 차단
+    try {
+      memberRepository.saveAndFlush(member);
+    } catch (DataIntegrityViolationException e) {
+      throw translate(e);
+    }
+    memberNameFilter.put(member.getName());
     return member.getId();
   }
 
-  // 멀티스레드 DB일 경우 추가 validation 필요
-  private void validateDuplicateMember(Member member) {
+  // 조회로 먼저 확인하여 대부분의 중복은 INSERT 전에 걸러냄
+  private void validateDuplicateName(String name) {
 
-    List<Member> findMembers = memberRepository.findByName(member.getName());
+    List<Member> findMembers = memberRepository.findByName(name);
     if (!findMembers.isEmpty()) {
       throw new IllegalStateException("이미 존재하는 회원입니다.");
     }
   }
 
+  // 이름 유니크 제약(uk_member_name) 위반만 중복 회원으로 변환, 다른 무결성 오류는 그대로 전달
+  private static RuntimeException translate(DataIntegrityViolationException e) {
+    for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+      if (cause instanceof ConstraintViolationException violation) {
+        String constraintName = violation.getConstraintName();
+        // H2는 제약 이름 대신 "PUBLIC.UK_MEMBER_NAME_INDEX_8" 형태의 인덱스 이름을 돌려줌
+        if (constraintName != null && constraintName.toLowerCase(Locale.ROOT).contains(Member.UK_NAME)) {
+          return new IllegalStateException("이미 존재하는 회원입니다.", e);
+        }
+        break;
+      }
+    }
+    return e;
+  }
+
   // 회원 전체 조회
   public List<Member> findMembers() {
     return memberRepository.findAll();
@@ -67,9 +103,55 @@ public class MemberService {
   }
 
   // 회원 정보 수정
+  // 이름 변경도 가입과 같은 방식으로 중복 확인 (조회 + 유니크 제약)
   @Transactional
   public void update(Long id, String name) {
     Member member = memberRepository.findOne(id);
+    if (Objects.equals(member.getName(), name)) {
+      return;
+    }
+    if (memberNameFilter.mightContain(name)) {
+      validateDuplicateName(name);
+    }
+
     member.setName(name);
+    try {
+      memberRepository.flush();
+    } catch (DataIntegrityViolationException e) {
+      throw translate(e);
+    }
+    memberNameFilter.put(name);
+  }
+
+  /*
+   * 이름 gram 백필: member_name_gram 도입 전에 가입한 회원은 gram이 없어 이름 검색에서 빠짐
+   * - gram이 없는 회원을 member_id 순으로 batchSize 건씩 별도 트랜잭션에서 생성
+   * - 호출 측 트랜잭션이 있으면 그 트랜잭션에 참여
+   */
+  @Transactional(propagation = Propagation.SUPPORTS)
+  public int backfillNameGrams(int batchSize) {
+    if (batchSize <= 0) {
+      throw new IllegalArgumentException("batchSize는 0보다 커야 합니다.");
+    }
+
+    TransactionTemplate tx = new TransactionTemplate(transactionManager);
+    int updated = 0;
+    long lastId = 0;
+    while (true) {
+      long afterId = lastId;
+      List<Long> ids = tx.execute(status -> memberRepository.findWithoutNameGrams(afterId, batchSize).stream()
+          .map(m -> {
+            m.setName(m.getName());  // setName에서 gram 다시 생성
+            return m.getId();
+          })
+          .toList());
+      if (ids.isEmpty()) {
+        break;
+      }
+      updated += ids.size();
+      lastId = ids.get(ids.size() - 1);
+    }
+    log.info("member name grams backfilled: {} members", updated);
+    return updated;
   }
 }
@@ -0,0 +1,15 @@
+package jpabook.jpashop.service;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/*
+ * 낙관적 락 충돌 시 트랜잭션을 처음부터 다시 실행 (최대 jpashop.stock.max-retries 회)
+ * - @Transactional 바깥에서 동작하므로 같은 메서드에 함께 선언
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface OptimisticLockRetry {
+}
@@ -0,0 +1,52 @@
+package jpabook.jpashop.service;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jpabook.jpashop.monitoring.OptimisticLockRetryEvent;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Aspect
+@Component
+// 트랜잭션 AOP(LOWEST_PRECEDENCE)보다 먼저 실행되어야 재시도마다 새 트랜잭션이 시작됨
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class OptimisticLockRetryAspect {
+
+  @Value("${jpashop.stock.max-retries:3}")
+  private int maxRetries;
+
+  @Around("@annotation(jpabook.jpashop.service.OptimisticLockRetry)")
+  public Object retry(ProceedingJoinPoint joinPoint) throws Throwable {
+    // 이미 바깥 트랜잭션 안에서 호출된 경우 바깥 트랜잭션이 rollback-only가 되므로 재시도하지 않음
+    if (TransactionSynchronizationManager.isActualTransactionActive()) {
+      return joinPoint.proceed();
+    }
+
+    for (int attempt = 1; ; attempt++) {
+      OptimisticLockRetryEvent event = new OptimisticLockRetryEvent();
+      event.begin();
+      try {
+        return joinPoint.proceed();
+      } catch (OptimisticLockingFailureException e) {
+        if (event.shouldCommit()) {
+          event.setMethod(joinPoint.getSignature().toShortString());
+          event.setAttempt(attempt);
+          event.setGaveUp(attempt > maxRetries);
+          event.commit();
+        }
+        if (attempt > maxRetries) {
+          throw e;
+        }
+        log.debug("optimistic lock conflict on {}, retry {}/{}", joinPoint.getSignature().toShortString(), attempt, maxRetries);
+      }
+    }
+  }
+}
@@ -0,0 +1,15 @@
+package jpabook.jpashop.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/*
+ * 주문 생성/취소 이벤트
+ * - 주문 조회 응답 캐시 등 주문 데이터에 의존하는 곳에서 트랜잭션 커밋 시점에 맞춰 처리
+ */
+@Getter
+@AllArgsConstructor
+public class OrderChangedEvent {
+
+  private final Long orderId;
+}
@@ -1,7 +1,12 @@
 package jpabook.jpashop.service;
 
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -10,6 +15,8 @@ import jpabook.jpashop.domain.Member;
 import jpabook.jpashop.domain.Order;
 import jpabook.jpashop.domain.OrderItem;
 import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.monitoring.OrderCancelEvent;
+import jpabook.jpashop.monitoring.OrderPlaceEvent;
 import jpabook.jpashop.repository.ItemRepository;
 import jpabook.jpashop.repository.MemberRepository;
 import jpabook.jpashop.repository.OrderRepository;
@@ -24,11 +31,17 @@ public class OrderService {
   private final OrderRepository orderRepository;
   private final MemberRepository memberRepository;
   private final ItemRepository itemRepository;
+  private final StockService stockService;
+  private final ItemSalesAggregator itemSalesAggregator;
+  private final ApplicationEventPublisher eventPublisher;
 
   // 주문
+  @OptimisticLockRetry
   @Transactional
   public Long order(Long memberId, Long itemId, int count) {
-    
+    OrderPlaceEvent event = new OrderPlaceEvent();
+    event.begin();
+
     // Entity 조회
     Member member = memberRepository.findOne(memberId);
     Item item = itemRepository.findOne(itemId);
@@ -38,7 +51,7 @@ public class OrderService {
     delivery.setAddress(member.getAddress());
 
     // 주문 상품 생성
-    OrderItem orderItem = OrderItem.createOrderItem(item, item.getPrice(), count);
+    OrderItem orderItem = stockService.createOrderItem(item, count);
 
     // 주문 생성
     Order order = Order.createOrder(member, delivery, orderItem);
@@ -47,21 +60,97 @@ public class OrderService {
     // Order 클래스에서 orderItem과 delivery가 cascade 설정되어 있어 모두 persist가 적용되어
     // 따로 Repository를 생성 후 저장하지 않아도 됨
     orderRepository.save(order);
+    itemSalesAggregator.recordOrder(order);
+    eventPublisher.publishEvent(new OrderChangedEvent(order.getId()));
+
+    if (event.shouldCommit()) {
+      event.setMemberId(memberId);
+      event.setOrderId(order.getId());
+      event.setLineCount(1);
+      event.setItemQuantity(count);
+      event.commit();
+    }
+    return order.getId();
+  }
+
+  // 장바구니 주문: 여러 상품을 하나의 주문으로 한 트랜잭션에서 생성
+  // - 상품은 item_id 오름차순으로 락을 잡으며 조회 (인기 상품은 메모리 원장을 사용하므로 락 없음)
+  // - 주문 상품 수와 관계없이 트랜잭션, flush는 한 번
+  @OptimisticLockRetry
+  @Transactional
+  public Long order(Long memberId, Map<Long, Integer> itemCounts) {
+
+    if (itemCounts.isEmpty()) {
+      throw new IllegalArgumentException("주문 상품이 없습니다.");
+    }
+    OrderPlaceEvent event = new OrderPlaceEvent();
+    event.begin();
+
+    // Entity 조회
+    Member member = memberRepository.findOne(memberId);
+    Map<Long, Integer> sortedCounts = new TreeMap<>(itemCounts);
+    List<Item> items = stockService.findItemsForOrder(sortedCounts.keySet());
+    if (items.size() != sortedCounts.size()) {
+      throw new IllegalArgumentException("존재하지 않는 상품이 포함되어 있습니다.");
+    }
+
+    // 배송 정보 생성
+    Delivery delivery = new Delivery();
+    delivery.setAddress(member.getAddress());
+
+    // 주문 상품 생성
+    OrderItem[] orderItems = items.stream()
+        .map(item -> stockService.createOrderItem(item, sortedCounts.get(item.getId())))
+        .toArray(OrderItem[]::new);
+
+    // 주문 생성 및 저장
+    Order order = Order.createOrder(member, delivery, orderItems);
+    orderRepository.save(order);
+    itemSalesAggregator.recordOrder(order);
+    eventPublisher.publishEvent(new OrderChangedEvent(order.getId()));
 
+    if (event.shouldCommit()) {
+      event.setMemberId(memberId);
+      event.setOrderId(order.getId());
+      event.setLineCount(orderItems.length);
+      event.setItemQuantity(sortedCounts.values().stream().mapToInt(Integer::intValue).sum());
+      event.commit();
+    }
     return order.getId();
   }
 
   // 취소
+  @OptimisticLockRetry
   @Transactional
   public void cancelOrder(Long orderId) {
+    OrderCancelEvent event = new OrderCancelEvent();
+    event.begin();
+
     // 주문 엔티티 조회
     Order order = orderRepository.findOne(orderId);
     // 주문 취소
-    order.cancel();
+    stockService.cancel(order);
+    itemSalesAggregator.recordCancel(order);
+    eventPublisher.publishEvent(new OrderChangedEvent(orderId));
+
+    if (event.shouldCommit()) {
+      event.setOrderId(orderId);
+      event.setLineCount(order.getOrderItems().size());
+      event.commit();
+    }
   }
 
   // 검색
   public List<Order> findOrders(OrderSearch orderSearch) {
     return orderRepository.findAll(orderSearch);
   }
+
+  // 검색 (페이징)
+  // OSIV OFF: 주문 목록 화면에서 사용하는 주문 상품, 상품을 트랜잭션 안에서 초기화
+  // 페이지 단위로 default_batch_fetch_size IN 조회 (주문 상품 1번 + 상품 1번)
+  public Page<Order> searchOrders(OrderSearch orderSearch, Pageable pageable) {
+    Page<Order> page = orderRepository.search(orderSearch, pageable);
+    page.forEach(order -> order.getOrderItems().forEach(o -> o.getItem().getName()));
+    return page;
+  }
 }
@@ -0,0 +1,69 @@
+package jpabook.jpashop.service;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jpabook.jpashop.repository.OrderRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * 주문 비정규화 컬럼(total_price, item_count) 관리
+ * - 백필: 컬럼 추가 전 주문을 order_id 구간별 트랜잭션으로 나눠 다시 계산
+ * - 정합성 확인: 컬럼 값과 주문 상품 합계가 다른 주문 조회
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderTotalsService {
+
+  private final OrderRepository orderRepository;
+  private final PlatformTransactionManager transactionManager;
+
+  public int backfill(int batchSize) {
+    if (batchSize <= 0) {
+      throw new IllegalArgumentException("batchSize는 0보다 커야 합니다.");
+    }
+
+    TransactionTemplate tx = new TransactionTemplate(transactionManager);
+    Long maxId = tx.execute(status -> orderRepository.findMaxId());
+    if (maxId == null) {
+      return 0;
+    }
+
+    int updated = 0;
+    for (long from = 1; from <= maxId; from += batchSize) {
+      long fromId = from;
+      long toId = from + batchSize - 1;
+      updated += tx.execute(status -> orderRepository.backfillTotals(fromId, toId));
+    }
+    log.info("order totals backfilled: {} orders (max id {})", updated, maxId);
+    return updated;
+  }
+
+  @Transactional(readOnly = true)
+  public List<Drift> findDrift(int limit) {
+    return orderRepository.findTotalDrift(limit).stream()
+        .map(row -> new Drift((Long) row[0],
+            ((Number) row[1]).intValue(), ((Number) row[2]).longValue(),
+            ((Number) row[3]).intValue(), ((Number) row[4]).longValue()))
+        .collect(Collectors.toList());
+  }
+
+  @Getter
+  @AllArgsConstructor
+  public static class Drift {
+    private Long orderId;
+    private int totalPrice;
+    private long expectedTotalPrice;
+    private int itemCount;
+    private long expectedItemCount;
+  }
+}
@@ -0,0 +1,10 @@
+package jpabook.jpashop.service;
+
+/*
+ * 재고 동시성 제어 방식 (jpashop.stock.mode)
+ * - ATOMIC: 조건부 UPDATE (stock_quantity >= 주문 수량)로 DB에서 원자적으로 차감
+ * - OPTIMISTIC: 엔티티 변경 감지 + @Version 낙관적 락, 충돌 시 트랜잭션 단위로 재시도
+ */
+public enum StockConcurrencyMode {
+  ATOMIC, OPTIMISTIC
+}
@@ -0,0 +1,87 @@
+package jpabook.jpashop.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jpabook.jpashop.domain.StockLedgerEntry;
+import jpabook.jpashop.repository.ItemRepository;
+import jpabook.jpashop.repository.StockLedgerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * 인기 상품 재고 원장을 모아서 item.stock_quantity에 반영 (write-behind)
+ * - 상품별 변경량을 합산하여 상품당 UPDATE 한 번으로 반영하고, 반영한 원장은 같은 트랜잭션에서 삭제
+ * - 배치(flush-batch-size)마다 별도 트랜잭션, 남은 원장이 없을 때까지 반복
+ * - 인기 상품 설정과 관계없이 실행 (설정에서 빠진 상품의 원장도 반영되어야 함)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StockLedgerFlusher implements SmartInitializingSingleton {
+
+  private final StockLedgerRepository stockLedgerRepository;
+  private final ItemRepository itemRepository;
+  private final PlatformTransactionManager transactionManager;
+
+  @Value("${jpashop.stock.ledger.flush-batch-size:10000}")
+  private int batchSize;
+
+  // 모든 싱글톤 생성 직후(웹 서버가 요청을 받기 전)에 실행
+  @Override
+  public void afterSingletonsInstantiated() {
+    reconcile();
+  }
+
+  // 시작 시 이전 실행에서 반영되지 못한 원장을 먼저 반영 (비정상 종료 복구)
+  // 원장은 주문과 같은 트랜잭션에서 커밋되므로 남아 있는 원장만 반영하면 재고가 맞춰짐
+  public void reconcile() {
+    int applied = applyAll();
+    if (applied > 0) {
+      log.info("stock ledger reconciled: {} entries", applied);
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${jpashop.stock.ledger.flush-interval:1000}")
+  public void flush() {
+    applyAll();
+  }
+
+  private int applyAll() {
+    TransactionTemplate tx = new TransactionTemplate(transactionManager);
+    int total = 0;
+    int applied;
+    do {
+      applied = tx.execute(status -> apply());
+      total += applied;
+    } while (applied > 0);
+    return total;
+  }
+
+  private int apply() {
+    List<StockLedgerEntry> entries = stockLedgerRepository.findPending(batchSize);
+    if (entries.isEmpty()) {
+      return 0;
+    }
+
+    // item_id 순으로 반영하여 락 순서 고정
+    Map<Long, Integer> deltas = new TreeMap<>();
+    entries.forEach(e -> deltas.merge(e.getItemId(), e.getDelta(), Integer::sum));
+    deltas.forEach((itemId, delta) -> {
+      if (delta != 0) {
+        itemRepository.addStock(itemId, delta);
+      }
+    });
+
+    stockLedgerRepository.deleteAll(entries.stream().map(StockLedgerEntry::getId).toList());
+    return entries.size();
+  }
+}
@@ -0,0 +1,158 @@
+package jpabook.jpashop.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.OrderItem;
+import jpabook.jpashop.domain.StockLedgerEntry;
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.exception.NotEnoughStockException;
+import jpabook.jpashop.monitoring.StockChangeEvent;
+import jpabook.jpashop.repository.ItemRepository;
+import jpabook.jpashop.repository.StockLedgerRepository;
+import lombok.RequiredArgsConstructor;
+
+/*
+ * 재고 변경은 모두 이 서비스를 거침 (OrderService의 트랜잭션 안에서 호출)
+ * - 인기 상품은 HotStockLedger(메모리 원장)에서 처리
+ * - 나머지 상품의 동시성 제어 방식은 jpashop.stock.mode 설정으로 선택
+ */
+@Service
+@RequiredArgsConstructor
+public class StockService {
+
+  private final ItemRepository itemRepository;
+  private final StockLedgerRepository stockLedgerRepository;
+  private final HotStockLedger hotStockLedger;
+
+  @Value("${jpashop.stock.mode:ATOMIC}")
+  private StockConcurrencyMode mode;
+
+  /*
+   * 장바구니 주문 상품 조회
+   * - 인기 상품은 메모리 원장에서 재고를 결정하므로 행 락 없이 조회
+   * - 나머지 상품만 item_id 오름차순으로 비관적 락 획득 (장바구니 주문끼리 교착 상태 방지)
+   * - 결과는 item_id 오름차순
+   */
+  public List<Item> findItemsForOrder(Collection<Long> itemIds) {
+    Map<Boolean, List<Long>> byHot = itemIds.stream().collect(Collectors.partitioningBy(hotStockLedger::isHot));
+
+    List<Item> items = new ArrayList<>();
+    if (!byHot.get(false).isEmpty()) {
+      items.addAll(itemRepository.findAllForUpdate(byHot.get(false)));
+    }
+    if (!byHot.get(true).isEmpty()) {
+      items.addAll(itemRepository.findAll(byHot.get(true)));
+    }
+    items.sort(Comparator.comparing(Item::getId));
+    return items;
+  }
+
+  /*
+   * 재고 차감 후 주문 상품 생성
+   */
+  public OrderItem createOrderItem(Item item, int count) {
+    StockChangeEvent event = new StockChangeEvent();
+    event.begin();
+    boolean success = false;
+    try {
+      OrderItem orderItem = removeStock(item, count);
+      success = true;
+      return orderItem;
+    } finally {
+      commit(event, item.getId(), -count, success);
+    }
+  }
+
+  private OrderItem removeStock(Item item, int count) {
+    if (hotStockLedger.isHot(item.getId())) {
+      reserveFromLedger(item.getId(), count);
+      return OrderItem.createOrderItemWithoutStock(item, item.getPrice(), count);
+    }
+
+    if (mode == StockConcurrencyMode.OPTIMISTIC) {
+      // 엔티티에서 차감 -> flush 시 @Version 검사
+      return OrderItem.createOrderItem(item, item.getPrice(), count);
+    }
+
+    // 조건부 UPDATE로 차감하고, 영속성 컨텍스트의 엔티티는 DB 값으로 갱신
+    if (itemRepository.removeStock(item.getId(), count) == 0) {
+      throw new NotEnoughStockException("Need more stocks");
+    }
+    itemRepository.refresh(item);
+    return OrderItem.createOrderItemWithoutStock(item, item.getPrice(), count);
+  }
+
+  /*
+   * 주문 취소 후 재고 원복
+   */
+  public void cancel(Order order) {
+    order.cancelWithoutStock();
+
+    for (OrderItem orderItem : order.getOrderItems()) {
+      Item item = orderItem.getItem();
+      int count = orderItem.getCount();
+      StockChangeEvent event = new StockChangeEvent();
+      event.begin();
+
+      if (hotStockLedger.isHot(item.getId())) {
+        restoreToLedger(item.getId(), count);
+      } else if (mode == StockConcurrencyMode.OPTIMISTIC) {
+        // 엔티티에서 원복 -> flush 시 @Version 검사
+        item.addStock(count);
+      } else {
+        itemRepository.addStock(item.getId(), count);
+        itemRepository.refresh(item);
+      }
+      commit(event, item.getId(), count, true);
+    }
+  }
+
+  // JFR 재고 변경 이벤트 기록 (기록 중이 아니면 값 설정도 생략)
+  private void commit(StockChangeEvent event, Long itemId, int delta, boolean success) {
+    if (event.shouldCommit()) {
+      event.setItemId(itemId);
+      event.setDelta(delta);
+      event.setPath(hotStockLedger.isHot(itemId) ? "LEDGER" : mode.name());
+      event.setSuccess(success);
+      event.commit();
+    }
+  }
+
+  // 메모리 원장에서 예약하고 원장 기록, 트랜잭션이 롤백되면 예약 반환
+  private void reserveFromLedger(Long itemId, int count) {
+    if (!hotStockLedger.tryReserve(itemId, count, () -> stockLedgerRepository.findAvailableStock(itemId))) {
+      throw new NotEnoughStockException("Need more stocks");
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCompletion(int status) {
+        if (status != STATUS_COMMITTED) {
+          hotStockLedger.release(itemId, count);
+        }
+      }
+    });
+    stockLedgerRepository.save(new StockLedgerEntry(itemId, -count));
+  }
+
+  // 취소 원장 기록, 커밋된 후에만 메모리 원장에 재고 반환
+  private void restoreToLedger(Long itemId, int count) {
+    stockLedgerRepository.save(new StockLedgerEntry(itemId, count));
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        hotStockLedger.release(itemId, count);
+      }
+    });
+  }
+}
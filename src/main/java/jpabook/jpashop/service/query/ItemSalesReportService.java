@@ -0,0 +1,102 @@
+package jpabook.jpashop.service.query;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.repository.ItemRepository;
+import jpabook.jpashop.repository.ItemSalesRepository;
+import jpabook.jpashop.repository.StockLedgerRepository;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 판매 리포트 (item_daily_sales 집계 테이블 조회)
+ * - 주문/주문 상품을 읽지 않으므로 조회 비용이 주문 수가 아닌 기간의 일수(x 상품 수)에 비례
+ * - 아직 집계에 반영되지 않은 변경분(반영 주기 동안 쌓인 만큼)도 함께 합산
+ */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class ItemSalesReportService {
+
+  private final ItemSalesRepository itemSalesRepository;
+  private final ItemRepository itemRepository;
+  private final StockLedgerRepository stockLedgerRepository;
+
+  // 일별, 상품별 판매량 (itemId가 없으면 전체 상품)
+  public List<DailySalesDto> findDailySales(LocalDate from, LocalDate to, Long itemId) {
+    validate(from, to);
+
+    return itemSalesRepository.findDailySales(from, to, itemId).stream()
+        .map(row -> new DailySalesDto((LocalDate) row[0], (Long) row[1],
+            ((Number) row[2]).longValue(), ((Number) row[3]).longValue()))
+        .collect(Collectors.toList());
+  }
+
+  /*
+   * 기간 합계 + 재고 회전율
+   * - 회전율 = 기간 판매 수량 / 현재 판매 가능 재고 (재고가 0 이하면 null)
+   * - 인기 상품은 item.stock_quantity에 아직 반영되지 않은 재고 원장이 있으므로 원장 합계까지 더한 재고 사용
+   */
+  public List<ItemSalesSummaryDto> findSummary(LocalDate from, LocalDate to) {
+    Map<Long, long[]> totals = new TreeMap<>();
+    for (DailySalesDto daily : findDailySales(from, to, null)) {
+      long[] total = totals.computeIfAbsent(daily.getItemId(), k -> new long[2]);
+      total[0] += daily.getQuantity();
+      total[1] += daily.getRevenue();
+    }
+    if (totals.isEmpty()) {
+      return List.of();
+    }
+
+    Map<Long, Item> items = itemRepository.findAll(totals.keySet()).stream()
+        .collect(Collectors.toMap(Item::getId, Function.identity()));
+    Map<Long, Long> stocks = stockLedgerRepository.findAvailableStocks(totals.keySet());
+    return totals.entrySet().stream()
+        .map(e -> {
+          Item item = items.get(e.getKey());
+          String name = item == null ? null : item.getName();
+          long stock = stocks.getOrDefault(e.getKey(), 0L);
+          Double turnover = stock > 0 ? (double) e.getValue()[0] / stock : null;
+          return new ItemSalesSummaryDto(e.getKey(), name, e.getValue()[0], e.getValue()[1], stock, turnover);
+        })
+        .sorted(Comparator.comparingLong(ItemSalesSummaryDto::getRevenue).reversed())
+        .collect(Collectors.toList());
+  }
+
+  private static void validate(LocalDate from, LocalDate to) {
+    if (from.isAfter(to)) {
+      throw new IllegalArgumentException("조회 시작일이 종료일보다 늦습니다.");
+    }
+  }
+
+  @Data
+  @AllArgsConstructor
+  public static class DailySalesDto {
+    private LocalDate salesDate;
+    private Long itemId;
+    private long quantity;
+    private long revenue;
+  }
+
+  @Data
+  @AllArgsConstructor
+  public static class ItemSalesSummaryDto {
+    private Long itemId;
+    private String itemName;
+    private long quantity;
+    private long revenue;
+    private long stockQuantity;
+    private Double turnover;
+  }
+}
@@ -0,0 +1,38 @@
+package jpabook.jpashop.service.query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.OrderStatus;
+import lombok.Data;
+
+@Data
+public class OrderDto {
+
+  private Long orderId;
+  private String name;
+  private LocalDateTime orderDate;
+  private OrderStatus orderStatus;
+  private Address address;
+  private List<OrderItemDto> orderItems;
+
+  public OrderDto(Order order) {
+    orderId = order.getId();
+    name = order.getMember().getName();
+    orderDate = order.getOrderDate();
+    orderStatus = order.getStatus();
+    address = order.getDelivery().getAddress();
+
+    // DTO 내부에서 엔티티에 접근: 외부에 엔티티의 모든 정보가 노출됨
+    // order.getOrderItems().stream().forEach(o -> o.getItem().getName());
+    // orderItems = order.getOrderItems();
+
+    // DTO 내부에서 엔티티를 DTO로 감싸서 반환
+    orderItems = order.getOrderItems().stream()
+        .map(orderItem -> new OrderItemDto(orderItem))
+        .collect(Collectors.toList());
+  }
+}
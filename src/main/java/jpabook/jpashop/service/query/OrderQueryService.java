@@ -0,0 +1,95 @@
+package jpabook.jpashop.service.query;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.repository.OrderFetchPlan;
+import jpabook.jpashop.repository.OrderRepository;
+import jpabook.jpashop.repository.OrderSearch;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 주문 조회 API용 서비스 (OSIV OFF)
+ * - 지연 로딩과 엔티티 -> DTO 변환을 모두 읽기 전용 트랜잭션 안에서 끝내고 DTO만 반환
+ * - 트랜잭션이 끝나면 커넥션을 반납하므로 JSON 직렬화 동안 커넥션을 잡고 있지 않음
+ * - readOnly 트랜잭션: flush 모드 MANUAL, 조회한 엔티티는 읽기 전용(스냅샷 없음)
+ */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class OrderQueryService {
+
+  private final OrderRepository orderRepository;
+
+  // 주문 v1: 엔티티 직접 노출, 응답에 필요한 연관관계를 fetch plan으로 함께 조회
+  public List<Order> findOrdersWithGraph() {
+    return orderRepository.findAll(new OrderSearch(), OrderFetchPlan.ITEMS);
+  }
+
+  // 주문 검색: 호출하는 쪽이 DTO 변환에 필요한 fetch plan을 지정
+  public List<OrderDto> searchOrders(OrderSearch orderSearch, OrderFetchPlan plan) {
+    return toOrderDtos(orderRepository.findAll(orderSearch, plan));
+  }
+
+  public List<SimpleOrderDto> searchSimpleOrders(OrderSearch orderSearch, OrderFetchPlan plan) {
+    return toSimpleOrderDtos(orderRepository.findAll(orderSearch, plan));
+  }
+
+  // 주문 v2: 지연 로딩 (N + 1)
+  public List<OrderDto> findOrders() {
+    return toOrderDtos(orderRepository.findAll(new OrderSearch()));
+  }
+
+  // 주문 v3: 컬렉션 fetch join
+  public List<OrderDto> findOrdersWithItem() {
+    return toOrderDtos(orderRepository.findAllWithItem());
+  }
+
+  // 주문 v3.2: 주문 id 페이징 + 컬렉션 fetch join
+  public Page<OrderDto> findOrdersWithItem(Pageable pageable) {
+    return orderRepository.findAllWithItem(pageable).map(o -> new OrderDto(o));
+  }
+
+  // 주문 v3.1: ToOne fetch join + 컬렉션 batch fetch
+  public List<OrderDto> findOrdersWithMemberDelivery(int offset, int limit) {
+    return toOrderDtos(orderRepository.findAllWithMemberDelivery(offset, limit));
+  }
+
+  // 주문 v3.1 (cursor)
+  public List<OrderDto> findOrdersWithMemberDeliveryAfter(Long lastOrderId, int limit) {
+    return toOrderDtos(orderRepository.findAllWithMemberDeliveryAfter(lastOrderId, limit));
+  }
+
+  // 단순 주문 v1: 엔티티 직접 노출 (초기화하지 않은 지연 로딩은 Hibernate5 모듈이 null로 직렬화)
+  public List<Order> findSimpleOrderEntities() {
+    return orderRepository.findAll(new OrderSearch());
+  }
+
+  // 단순 주문 v2: 지연 로딩 (N + 1)
+  public List<SimpleOrderDto> findSimpleOrders() {
+    return toSimpleOrderDtos(orderRepository.findAll(new OrderSearch()));
+  }
+
+  // 단순 주문 v3: ToOne fetch join
+  public List<SimpleOrderDto> findSimpleOrdersWithMemberDelivery() {
+    return toSimpleOrderDtos(orderRepository.findAllWithMemberDelivery());
+  }
+
+  private static List<OrderDto> toOrderDtos(List<Order> orders) {
+    return orders.stream()
+        .map(o -> new OrderDto(o))
+        .collect(Collectors.toList());
+  }
+
+  private static List<SimpleOrderDto> toSimpleOrderDtos(List<Order> orders) {
+    return orders.stream()
+        .map(o -> new SimpleOrderDto(o))
+        .collect(Collectors.toList());
+  }
+}
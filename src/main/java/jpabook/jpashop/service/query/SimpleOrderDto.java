@@ -0,0 +1,26 @@
+package jpabook.jpashop.service.query;
+
+import java.time.LocalDateTime;
+
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.OrderStatus;
+import lombok.Data;
+
+@Data
+public class SimpleOrderDto {
+
+  private Long orderId;
+  private String name;
+  private LocalDateTime orderDate;
+  private OrderStatus orderStatus;
+  private Address address;
+
+  public SimpleOrderDto(Order order) {
+    orderId = order.getId();
+    name = order.getMember().getName(); // LAZY 초기화
+    orderDate = order.getOrderDate();
+    orderStatus = order.getStatus();
+    address = order.getDelivery().getAddress(); // LAZY 초기화
+  }
+}
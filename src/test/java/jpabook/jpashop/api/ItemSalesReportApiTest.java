@@ -0,0 +1,33 @@
+package jpabook.jpashop.api;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+public class ItemSalesReportApiTest {
+
+  @Autowired MockMvc mockMvc;
+
+  @Test
+  public void 시작일이종료일보다늦으면400() throws Exception {
+    for (String report : new String[] {"daily", "summary"}) {
+      mockMvc.perform(get("/api/reports/item-sales/" + report).param("from", "2024-01-02").param("to", "2024-01-01"))
+          .andExpect(status().isBadRequest());
+    }
+  }
+
+  @Test
+  public void 기간조회() throws Exception {
+    mockMvc.perform(get("/api/reports/item-sales/summary").param("from", "2024-01-01").param("to", "2024-01-31"))
+        .andExpect(status().isOk());
+  }
+}
@@ -0,0 +1,115 @@
+package jpabook.jpashop.api;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.jayway.jsonpath.JsonPath;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.service.OrderService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+public class OrderCursorApiTest {
+
+  @Autowired MockMvc mockMvc;
+  @Autowired EntityManager em;
+  @Autowired OrderService orderService;
+
+  @Test
+  public void 커서로다음페이지조회() throws Exception {
+    // given: 주문 3건 (다른 테스트가 남긴 주문보다 id가 큼)
+    Member member = createMember();
+    Book book = createBook("cursor book", 10000, 10);
+
+    Long first = orderService.order(member.getId(), book.getId(), 1);
+    Long second = orderService.order(member.getId(), book.getId(), 1);
+    Long third = orderService.order(member.getId(), book.getId(), 1);
+    em.flush();
+    em.clear();
+
+    // when: 첫 주문 직전 id부터 2건씩
+    String body = mockMvc.perform(get("/api/v3.1/orders")
+            .param("cursor", cursor(first - 1))
+            .param("limit", "2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data[*].orderId").value(contains(first.intValue(), second.intValue())))
+        .andReturn().getResponse().getContentAsString();
+    String nextCursor = JsonPath.read(body, "$.nextCursor");
+    assertNotNull(nextCursor);
+
+    // then: 마지막 페이지는 남은 1건과 nextCursor null
+    mockMvc.perform(get("/api/v3.1/orders")
+            .param("cursor", nextCursor)
+            .param("limit", "2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data[*].orderId").value(contains(third.intValue())))
+        .andExpect(jsonPath("$.nextCursor").value(nullValue()));
+  }
+
+  @Test
+  public void 범위를벗어난limit은400() throws Exception {
+    // 상한은 default_batch_fetch_size (100): 넘으면 SQL 예산이 성립하지 않음
+    for (String limit : new String[] {"0", "-1", "101"}) {
+      mockMvc.perform(get("/api/v3.1/orders").param("cursor", "").param("limit", limit))
+          .andExpect(status().isBadRequest());
+      mockMvc.perform(get("/api/v3.1/orders").param("offset", "0").param("limit", limit))
+          .andExpect(status().isBadRequest());
+    }
+    mockMvc.perform(get("/api/v3.1/orders").param("offset", "-1"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  public void 잘못된커서는400() throws Exception {
+    // Base64가 아닌 값
+    mockMvc.perform(get("/api/v3.1/orders").param("cursor", "!!"))
+        .andExpect(status().isBadRequest());
+    // 디코딩은 되지만 숫자가 아닌 값
+    mockMvc.perform(get("/api/v3.1/orders").param("cursor", encode("abc")))
+        .andExpect(status().isBadRequest());
+  }
+
+  private Book createBook(String name, int price, int stockQuantity) {
+    Book book = new Book();
+    book.setName(name);
+    book.setPrice(price);
+    book.setStockQuantity(stockQuantity);
+    em.persist(book);
+    return book;
+  }
+
+  private Member createMember() {
+    Member member = new Member();
+    member.setName("cursor-" + System.nanoTime());
+    member.setAddress(new Address("서울", "강가", "123123"));
+    em.persist(member);
+    return member;
+  }
+
+  private static String cursor(Long orderId) {
+    return encode(String.valueOf(orderId));
+  }
+
+  private static String encode(String value) {
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+  }
+}
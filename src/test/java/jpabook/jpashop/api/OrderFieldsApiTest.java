@@ -0,0 +1,41 @@
+package jpabook.jpashop.api;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+public class OrderFieldsApiTest {
+
+  @Autowired MockMvc mockMvc;
+
+  @Test
+  public void 필드선택조회() throws Exception {
+    mockMvc.perform(get("/api/v5/orders").param("fields", "orderId, totalPrice").param("limit", "10"))
+        .andExpect(status().isOk());
+  }
+
+  @Test
+  public void 지원하지않는필드는400() throws Exception {
+    mockMvc.perform(get("/api/v5/orders").param("fields", "orderId,password"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  public void 범위를벗어난offset과limit은400() throws Exception {
+    mockMvc.perform(get("/api/v5/orders").param("fields", "orderId").param("offset", "-1"))
+        .andExpect(status().isBadRequest());
+    for (String limit : new String[] {"0", "-1", String.valueOf(OrderApiController.MAX_LIMIT + 1)}) {
+      mockMvc.perform(get("/api/v5/orders").param("fields", "orderId").param("limit", limit))
+          .andExpect(status().isBadRequest());
+    }
+  }
+}
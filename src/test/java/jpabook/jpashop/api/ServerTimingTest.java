@@ -0,0 +1,90 @@
+package jpabook.jpashop.api;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.monitoring.ServerTimingFilter;
+import jpabook.jpashop.monitoring.ServerTimingMonitor;
+import jpabook.jpashop.service.ItemService;
+import jpabook.jpashop.service.MemberService;
+import jpabook.jpashop.service.OrderService;
+
+@SpringBootTest(properties = "jpashop.server-timing.expose-header=true")
+@AutoConfigureMockMvc
+@Transactional
+public class ServerTimingTest {
+
+  @Autowired MockMvc mockMvc;
+  @Autowired ServerTimingMonitor serverTimingMonitor;
+  @Autowired MemberService memberService;
+  @Autowired ItemService itemService;
+  @Autowired OrderService orderService;
+
+  @Test
+  public void 응답에처리시간구간헤더추가() throws Exception {
+    // given
+    주문생성();
+
+    // when
+    MvcResult result = mockMvc.perform(get("/api/v3/orders"))
+        .andExpect(status().isOk())
+        .andReturn();
+
+    // then
+    String header = result.getResponse().getHeader(ServerTimingFilter.HEADER);
+    assertNotNull(header);
+    for (String phase : new String[] {"acquire;dur=", "sql;dur=", "mapping;dur=", "serialization;dur=", "total;dur="}) {
+      assertTrue(header.contains(phase), header);
+    }
+    assertTrue(result.getResponse().getContentAsString().contains("orderItems"), "버퍼링한 본문도 그대로 전송");
+
+    ServerTimingMonitor.EndpointTimings timings = serverTimingMonitor.snapshot().get("GET /api/v3/orders");
+    assertNotNull(timings);
+    assertTrue(timings.getTotal().count() >= 1);
+  }
+
+  @Test
+  public void 스트리밍응답은버퍼링하지않음() throws Exception {
+    // given
+    주문생성();
+
+    // when
+    MvcResult result = mockMvc.perform(get("/api/v6.1/orders"))
+        .andExpect(status().isOk())
+        .andReturn();
+
+    // then: 헤더 없이 히스토그램에만 기록
+    assertNull(result.getResponse().getHeader(ServerTimingFilter.HEADER));
+    assertTrue(result.getResponse().getContentAsString().contains("orderItems"));
+    assertNotNull(serverTimingMonitor.snapshot().get("GET /api/v6.1/orders"));
+  }
+
+  private void 주문생성() {
+    Member member = new Member();
+    member.setName("timing-" + System.nanoTime());
+    member.setAddress(new Address("서울", "강가", "123123"));
+    memberService.join(member);
+
+    Book book = new Book();
+    book.setName("timing book");
+    book.setPrice(10000);
+    book.setStockQuantity(100);
+    itemService.save(book);
+
+    orderService.order(member.getId(), book.getId(), 2);
+  }
+}
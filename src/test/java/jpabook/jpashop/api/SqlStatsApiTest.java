@@ -0,0 +1,33 @@
+package jpabook.jpashop.api;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class SqlStatsApiTest {
+
+  @Autowired MockMvc mockMvc;
+
+  @Test
+  public void 정렬기준별조회() throws Exception {
+    for (String sort : new String[] {"total", "count", "mean", "p99", "rows"}) {
+      mockMvc.perform(get("/api/admin/sql-stats").param("sort", sort))
+          .andExpect(status().isOk());
+    }
+  }
+
+  @Test
+  public void 지원하지않는정렬과음수limit은400() throws Exception {
+    mockMvc.perform(get("/api/admin/sql-stats").param("sort", "name"))
+        .andExpect(status().isBadRequest());
+    mockMvc.perform(get("/api/admin/sql-stats").param("limit", "-1"))
+        .andExpect(status().isBadRequest());
+  }
+}
@@ -0,0 +1,88 @@
+package jpabook.jpashop.cache;
+
+import static jpabook.jpashop.cache.SingleFlightTest.await;
+import static jpabook.jpashop.cache.SingleFlightTest.awaitJoined;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import jpabook.jpashop.service.OrderChangedEvent;
+
+public class OrderReadCacheTest {
+
+  OrderReadCache orderReadCache = new OrderReadCache(new SingleFlight());
+
+  @BeforeEach
+  public void setUp() {
+    ReflectionTestUtils.setField(orderReadCache, "enabled", true);
+    ReflectionTestUtils.setField(orderReadCache, "maximumSize", 100L);
+    ReflectionTestUtils.setField(orderReadCache, "ttl", Duration.ofSeconds(30));
+  }
+
+  @Test
+  public void 커밋이후요청은이전조회에합류하지않음() throws Exception {
+    // given: 커밋 전 데이터를 조회하는 중
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    FutureTask<String> leader = new FutureTask<>(() -> orderReadCache.getShared("/orders", () -> {
+      loading.countDown();
+      await(release);
+      return "before commit";
+    }));
+    new Thread(leader).start();
+    loading.await();
+
+    // when: 주문 커밋 후 들어온 요청
+    orderReadCache.afterOrderCommit(new OrderChangedEvent(1L));
+    FutureTask<String> follower = new FutureTask<>(() -> orderReadCache.getShared("/orders", () -> "after commit"));
+    new Thread(follower).start();
+
+    // then: 이전 조회가 끝나기 전에 커밋 이후 데이터를 조회해 저장
+    assertEquals("after commit", follower.get(5, TimeUnit.SECONDS));
+    release.countDown();
+    assertEquals("before commit", leader.get(5, TimeUnit.SECONDS));
+    assertEquals("after commit", orderReadCache.getShared("/orders", () -> "reloaded"));
+  }
+
+  @Test
+  public void 합류한요청은조회시작세대로저장여부판단() throws Exception {
+    // given: 같은 세대의 요청이 진행 중인 조회에 합류
+    AtomicInteger loads = new AtomicInteger();
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    FutureTask<String> leader = new FutureTask<>(() -> orderReadCache.getShared("/orders", () -> {
+      loads.incrementAndGet();
+      loading.countDown();
+      await(release);
+      return "before commit";
+    }));
+    new Thread(leader).start();
+    loading.await();
+
+    FutureTask<String> follower = new FutureTask<>(() -> orderReadCache.getShared("/orders", () -> {
+      loads.incrementAndGet();
+      return "follower";
+    }));
+    Thread followerThread = new Thread(follower);
+    followerThread.start();
+    awaitJoined(followerThread);
+
+    // when: 조회 도중 주문 커밋
+    orderReadCache.afterOrderCommit(new OrderChangedEvent(1L));
+    release.countDown();
+
+    // then: 두 요청 모두 조회 결과를 받지만 저장하지 않음
+    assertEquals("before commit", leader.get(5, TimeUnit.SECONDS));
+    assertEquals("before commit", follower.get(5, TimeUnit.SECONDS));
+    assertEquals(1, loads.get());
+    assertEquals("after commit", orderReadCache.getShared("/orders", () -> "after commit"));
+  }
+}
@@ -0,0 +1,94 @@
+package jpabook.jpashop.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class SingleFlightTest {
+
+  SingleFlight singleFlight = new SingleFlight();
+
+  @Test
+  public void 동시조회합치기() throws Exception {
+    // given
+    int threads = 8;
+    AtomicInteger loads = new AtomicInteger();
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Object result = new Object();
+
+    List<FutureTask<Object>> tasks = new ArrayList<>();
+    List<Thread> followers = new ArrayList<>();
+
+    // when
+    FutureTask<Object> leader = new FutureTask<>(() -> singleFlight.execute("orders", () -> {
+      loads.incrementAndGet();
+      loading.countDown();
+      await(release);
+      return result;
+    }));
+    tasks.add(leader);
+    new Thread(leader).start();
+    loading.await();
+    for (int t = 1; t < threads; t++) {
+      FutureTask<Object> task = new FutureTask<>(() -> singleFlight.execute("orders", () -> {
+        loads.incrementAndGet();
+        return new Object();
+      }));
+      tasks.add(task);
+      Thread follower = new Thread(task);
+      followers.add(follower);
+      follower.start();
+    }
+    // 뒤의 요청들이 모두 진행 중인 조회에 합류할 때까지 대기
+    for (Thread follower : followers) {
+      awaitJoined(follower);
+    }
+    release.countDown();
+
+    // then
+    for (FutureTask<Object> task : tasks) {
+      assertSame(result, task.get(5, TimeUnit.SECONDS), "모든 요청이 같은 조회 결과를 받아야 한다.");
+    }
+    assertEquals(1, loads.get(), "DB 조회는 한 번만 실행되어야 한다.");
+  }
+
+  @Test
+  public void 조회완료후에는보관하지않음() {
+    // when
+    Object first = singleFlight.execute("orders", Object::new);
+    Object second = singleFlight.execute("orders", Object::new);
+
+    // then
+    assertNotSame(first, second, "조회가 끝난 결과는 다시 사용하지 않아야 한다.");
+  }
+
+  // 진행 중인 조회에 합류한 스레드는 결과를 기다리며 WAITING 상태가 됨
+  static void awaitJoined(Thread thread) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (thread.getState() != Thread.State.WAITING) {
+      if (System.nanoTime() > deadline) {
+        throw new AssertionError(thread.getName() + " 스레드가 조회에 합류하지 않음: " + thread.getState());
+      }
+      Thread.sleep(1);
+    }
+  }
+
+  static void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+  }
+}
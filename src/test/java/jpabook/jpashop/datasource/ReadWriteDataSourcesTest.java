@@ -0,0 +1,77 @@
+package jpabook.jpashop.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+public class ReadWriteDataSourcesTest {
+
+  // application-virtual.yml과 같은 풀 설정
+  Binder hikari = new Binder(new MapConfigurationPropertySource(Map.of(
+      "spring.datasource.hikari.maximum-pool-size", "20",
+      "spring.datasource.hikari.connection-timeout", "3000")));
+
+  @Test
+  public void hikari설정을모든풀에적용() throws Exception {
+    ReplicaDataSourceProperties properties = 복제본("hikari");
+
+    try (ReadWriteDataSources dataSources = new ReadWriteDataSources(primary("hikari"), properties, hikari)) {
+      HikariDataSource primary = (HikariDataSource) dataSources.getPrimary();
+      HikariDataSource replica = (HikariDataSource) dataSources.getReplicas().get(0);
+      assertEquals(20, primary.getMaximumPoolSize());
+      assertEquals(3000, primary.getConnectionTimeout());
+      assertEquals(20, replica.getMaximumPoolSize());
+      assertEquals(3000, replica.getConnectionTimeout());
+    }
+  }
+
+  @Test
+  public void primary풀크기를두곳에서설정하면실패() throws Exception {
+    ReplicaDataSourceProperties properties = 복제본("conflict");
+    properties.setPrimaryPoolSize(10);
+
+    assertThrows(IllegalStateException.class,
+        () -> new ReadWriteDataSources(primary("conflict"), properties, hikari));
+  }
+
+  @Test
+  public void 시작시복사하는복제본은복사후사용() throws Exception {
+    ReplicaDataSourceProperties properties = 복제본("copy");
+    properties.setCopyPrimaryOnStartup(true);
+
+    try (ReadWriteDataSources dataSources = new ReadWriteDataSources(primary("copy"), properties, new Binder())) {
+      // 복사 전: 주기적인 지연 확인이 먼저 실행되어도 비어 있는 복제본을 사용하지 않음
+      dataSources.checkReplicas();
+      assertEquals(-1, dataSources.nextReplica());
+
+      dataSources.copyPrimaryToReplicas();
+
+      assertEquals(0, dataSources.nextReplica());
+    }
+  }
+
+  private static DataSourceProperties primary(String name) throws Exception {
+    DataSourceProperties properties = new DataSourceProperties();
+    properties.setUrl("jdbc:h2:mem:rw_" + name + "_primary;DB_CLOSE_DELAY=-1");
+    properties.setUsername("sa");
+    properties.afterPropertiesSet();
+    return properties;
+  }
+
+  private static ReplicaDataSourceProperties 복제본(String name) {
+    ReplicaDataSourceProperties.Replica replica = new ReplicaDataSourceProperties.Replica();
+    replica.setUrl("jdbc:h2:mem:rw_" + name + "_replica;DB_CLOSE_DELAY=-1");
+    replica.setUsername("sa");
+    ReplicaDataSourceProperties properties = new ReplicaDataSourceProperties();
+    properties.getReplicas().add(replica);
+    return properties;
+  }
+}
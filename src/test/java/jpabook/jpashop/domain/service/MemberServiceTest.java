@@ -57,4 +57,33 @@ public class MemberServiceTest {
     // assertThrows 통해 예외를 검증하므로 삭제
     // fail("예외 발생");
   }
+
+  @Test
+  public void 이름변경중복예외() throws Exception {
+    // given
+    Member kim = new Member();
+    kim.setName("Kim");
+    Member lee = new Member();
+    lee.setName("Lee");
+    memberService.join(kim);
+    Long leeId = memberService.join(lee);
+
+    // when, then
+    IllegalStateException exception = assertThrows(IllegalStateException.class, () -> memberService.update(leeId, "Kim"));
+    assertEquals("이미 존재하는 회원입니다.", exception.getMessage());
+  }
+
+  @Test
+  public void 같은이름으로변경() throws Exception {
+    // given
+    Member member = new Member();
+    member.setName("Kim");
+    Long id = memberService.join(member);
+
+    // when: 자기 자신은 중복이 아님
+    memberService.update(id, "Kim");
+
+    // then
+    assertEquals("Kim", memberRepository.findOne(id).getName());
+  }
 }
@@ -0,0 +1,33 @@
+package jpabook.jpashop.monitoring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class SqlFingerprintTest {
+
+  @Test
+  public void 리터럴과IN목록정규화() {
+    String a = SqlFingerprint.of("select oi1_0.order_id from order_item oi1_0 where oi1_0.order_id in (?,?,?,?)");
+    String b = SqlFingerprint.of("select oi1_0.order_id\n  from order_item oi1_0\n where oi1_0.order_id in (?, ?)");
+    String c = SqlFingerprint.of("SELECT * FROM member WHERE name = 'kim' AND member_id = 42");
+
+    assertEquals(a, b, "IN 목록 크기, 공백과 관계없이 같은 모양이어야 한다.");
+    assertEquals("select oi1_0.order_id from order_item oi1_0 where oi1_0.order_id in (...)", a);
+    assertEquals("select * from member where name = ? and member_id = ?", c);
+  }
+
+  @Test
+  public void 백분위() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 1; i <= 100; i++) {
+      histogram.record(i * 1_000_000L); // 1ms ~ 100ms
+    }
+
+    assertEquals(100, histogram.count());
+    // 버킷 상대 오차 12.5% 이내
+    assertTrue(Math.abs(histogram.percentileMillis(0.50) - 50) <= 50 * 0.125);
+    assertTrue(Math.abs(histogram.percentileMillis(0.99) - 99) <= 99 * 0.125);
+  }
+}
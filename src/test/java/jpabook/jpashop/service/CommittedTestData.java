@@ -0,0 +1,79 @@
+package jpabook.jpashop.service;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.item.Item;
+
+/*
+ * @Transactional로 롤백할 수 없는 테스트(각자 커밋하는 스레드, 2차 캐시)에서 커밋한 데이터 정리
+ * - 등록한 회원, 상품과 그 주문(주문 상품, 배송), 판매 집계/변경분, 재고 원장까지 삭제
+ * - 같은 메모리 DB를 쓰는 다른 테스트의 전체 조회 결과에 영향을 주지 않도록 @AfterEach에서 호출
+ */
+class CommittedTestData {
+
+  private final EntityManager em;
+  private final TransactionTemplate tx;
+  private final Set<Long> memberIds = new LinkedHashSet<>();
+  private final Set<Long> itemIds = new LinkedHashSet<>();
+
+  CommittedTestData(EntityManager em, PlatformTransactionManager transactionManager) {
+    this.em = em;
+    this.tx = new TransactionTemplate(transactionManager);
+  }
+
+  Member add(Member member) {
+    memberIds.add(member.getId());
+    return member;
+  }
+
+  <T extends Item> T add(T item) {
+    itemIds.add(item.getId());
+    return item;
+  }
+
+  void deleteAll() {
+    tx.executeWithoutResult(status -> {
+      Set<Order> orders = new LinkedHashSet<>();
+      if (!memberIds.isEmpty()) {
+        orders.addAll(em.createQuery("select o from Order o where o.member.id in :memberIds", Order.class)
+            .setParameter("memberIds", memberIds)
+            .getResultList());
+      }
+      if (!itemIds.isEmpty()) {
+        orders.addAll(em.createQuery("select distinct oi.order from OrderItem oi where oi.item.id in :itemIds", Order.class)
+            .setParameter("itemIds", itemIds)
+            .getResultList());
+      }
+      orders.forEach(em::remove);
+      em.flush();
+
+      if (!itemIds.isEmpty()) {
+        for (String entity : List.of("ItemSalesEntry", "ItemDailySales", "StockLedgerEntry")) {
+          em.createQuery("delete from " + entity + " e where e.itemId in :itemIds")
+              .setParameter("itemIds", itemIds)
+              .executeUpdate();
+        }
+      }
+      remove(Item.class, itemIds);
+      remove(Member.class, memberIds);
+    });
+    memberIds.clear();
+    itemIds.clear();
+  }
+
+  private void remove(Class<?> type, Set<Long> ids) {
+    ids.stream()
+        .map(id -> em.find(type, id))
+        .filter(Objects::nonNull)
+        .forEach(em::remove);
+  }
+}
@@ -0,0 +1,106 @@
+package jpabook.jpashop.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import jpabook.jpashop.repository.StockLedgerRepository.AvailableStock;
+
+public class HotStockLedgerTest {
+
+  static final Long ITEM_ID = 1L;
+
+  HotStockLedger ledger = new HotStockLedger(Set.of(ITEM_ID));
+
+  @Test
+  public void 동시예약시초과판매없음() throws Exception {
+    // given
+    int stock = 1000;
+    int threads = 16;
+    AtomicInteger sold = new AtomicInteger();
+    CountDownLatch start = new CountDownLatch(1);
+
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    List<Future<?>> futures = new ArrayList<>();
+
+    // when: 각 스레드가 1~3개씩 반복 예약 (재고가 거의 소진되면 일시적으로 실패할 수 있으므로 연속 실패 시 종료)
+    for (int t = 0; t < threads; t++) {
+      int quantity = t % 3 + 1;
+      futures.add(executor.submit(() -> {
+        start.await();
+        int failures = 0;
+        while (failures < 100) {
+          if (ledger.tryReserve(ITEM_ID, quantity, () -> new AvailableStock(stock, 0))) {
+            sold.addAndGet(quantity);
+            failures = 0;
+          } else {
+            failures++;
+          }
+        }
+        return null;
+      }));
+    }
+    start.countDown();
+    for (Future<?> future : futures) {
+      future.get(10, TimeUnit.SECONDS);
+    }
+    executor.shutdown();
+
+    // then: 판매 수량 + 남은 수량 = 초기 재고, 남은 수량은 가장 작은 예약 수량보다 적음
+    assertTrue(sold.get() <= stock, "sold=" + sold.get());
+    assertEquals(stock, sold.get() + ledger.available(ITEM_ID));
+    assertFalse(ledger.tryReserve(ITEM_ID, (int) ledger.available(ITEM_ID) + 1, () -> new AvailableStock(stock, 0)));
+  }
+
+  @Test
+  public void 재고수정시변경량만큼조정() {
+    // given
+    ledger.tryReserve(ITEM_ID, 3, () -> new AvailableStock(10, 5));  // 남은 수량 7 (커밋 전 예약 3 포함)
+
+    // when: 관리자가 DB 재고를 2 늘림 (버전 6)
+    ledger.adjust(ITEM_ID, 2, 6);
+
+    // then: 다시 읽지 않으므로 커밋 전 예약이 유지됨
+    assertEquals(9, ledger.available(ITEM_ID));
+  }
+
+  @Test
+  public void 초기화이전버전의수정은무시() {
+    // given: 버전 7의 DB 값으로 초기화 (버전 6 수정이 이미 포함)
+    ledger.tryReserve(ITEM_ID, 1, () -> new AvailableStock(10, 7));
+
+    // when
+    ledger.adjust(ITEM_ID, 5, 6);
+
+    // then
+    assertEquals(9, ledger.available(ITEM_ID));
+  }
+
+  @Test
+  public void 남은재고보다많이줄이면반환재고로상쇄() {
+    // given
+    ledger.tryReserve(ITEM_ID, 8, () -> new AvailableStock(10, 0));  // 남은 수량 2
+
+    // when: 5 감소 -> 3 부족
+    ledger.adjust(ITEM_ID, -5, 1);
+
+    // then: 반환된 재고는 부족분을 먼저 채우고 판매 가능 수량에 더해짐
+    assertEquals(-3, ledger.available(ITEM_ID));
+    assertFalse(ledger.tryReserve(ITEM_ID, 1, () -> new AvailableStock(0, 0)));
+    ledger.release(ITEM_ID, 4);
+    assertEquals(1, ledger.available(ITEM_ID));
+    assertTrue(ledger.tryReserve(ITEM_ID, 1, () -> new AvailableStock(0, 0)));
+  }
+}
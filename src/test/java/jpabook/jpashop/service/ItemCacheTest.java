@@ -0,0 +1,85 @@
+package jpabook.jpashop.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.repository.ItemRepository;
+
+// 2차 캐시는 커밋된 데이터만 저장하므로 @Transactional 사용하지 않음 (커밋한 상품은 @AfterEach에서 삭제)
+@SpringBootTest
+public class ItemCacheTest {
+
+  @Autowired EntityManager em;
+  @Autowired EntityManagerFactory emf;
+  @Autowired ItemRepository itemRepository;
+  @Autowired PlatformTransactionManager transactionManager;
+
+  CommittedTestData committed;
+
+  @BeforeEach
+  public void setUp() {
+    committed = new CommittedTestData(em, transactionManager);
+  }
+
+  @AfterEach
+  public void cleanUp() {
+    committed.deleteAll();
+  }
+
+  @Test
+  public void 재고변경시해당상품만캐시에서제거() {
+    // given: 상품 2개를 캐시에 올림
+    TransactionTemplate tx = new TransactionTemplate(transactionManager);
+    Long soldId = tx.execute(status -> 상품("cache sold"));
+    Long otherId = tx.execute(status -> 상품("cache other"));
+    tx.executeWithoutResult(status -> {
+      em.find(Item.class, soldId);
+      em.find(Item.class, otherId);
+    });
+    Cache cache = emf.getCache();
+    assertTrue(cache.contains(Item.class, soldId));
+    assertTrue(cache.contains(Item.class, otherId));
+
+    // when: 조건부 UPDATE로 재고 차감
+    tx.executeWithoutResult(status -> assertEquals(1, itemRepository.removeStock(soldId, 3)));
+
+    // then: 차감한 상품만 제거되고 다른 상품은 캐시에서 조회
+    assertFalse(cache.contains(Item.class, soldId));
+    assertTrue(cache.contains(Item.class, otherId));
+
+    CacheRegionStatistics statistics = emf.unwrap(SessionFactory.class).getStatistics()
+        .getDomainDataRegionStatistics("item");
+    long hits = statistics.getHitCount();
+    int stock = tx.execute(status -> {
+      em.find(Item.class, otherId);
+      return em.find(Item.class, soldId).getStockQuantity();
+    });
+    assertEquals(hits + 1, statistics.getHitCount(), "다른 상품은 캐시 적중");
+    assertEquals(7, stock, "차감한 상품은 DB에서 다시 읽음");
+  }
+
+  private Long 상품(String name) {
+    Book book = new Book();
+    book.setName(name);
+    book.setPrice(10000);
+    book.setStockQuantity(10);
+    em.persist(book);
+    return committed.add(book).getId();
+  }
+}
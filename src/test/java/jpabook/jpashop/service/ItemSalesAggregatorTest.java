@@ -0,0 +1,60 @@
+package jpabook.jpashop.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.ItemDailySales;
+import jpabook.jpashop.domain.ItemSalesEntry;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.repository.ItemSalesRepository;
+
+// 배치 크기를 2로 줄여 변경분이 여러 배치에 걸쳐 반영되는지 확인, 스케줄 flush는 테스트 중 실행되지 않도록 지연
+@SpringBootTest(properties = {
+    "jpashop.sales.flush-batch-size=2",
+    "jpashop.sales.flush-interval=3600000"
+})
+@Transactional
+public class ItemSalesAggregatorTest {
+
+  @Autowired EntityManager em;
+  @Autowired ItemSalesAggregator itemSalesAggregator;
+  @Autowired ItemSalesRepository itemSalesRepository;
+
+  @Test
+  public void 시작시남은변경분을모두반영() {
+    // given: 이전 실행에서 반영되지 못한 변경분 (배치 크기보다 많음), 마지막은 취소
+    Book book = new Book();
+    book.setName("sales aggregator book");
+    book.setPrice(10000);
+    book.setStockQuantity(100);
+    em.persist(book);
+
+    LocalDate salesDate = LocalDate.of(2024, 1, 1);
+    for (int quantity : new int[] {1, 2, 3, 4, -2}) {
+      itemSalesRepository.save(new ItemSalesEntry(book.getId(), salesDate, quantity, quantity * 10000L));
+    }
+    em.flush();
+
+    // when
+    itemSalesAggregator.reconcile();
+    em.flush();
+    em.clear();
+
+    // then
+    assertTrue(itemSalesRepository.findPending(10).isEmpty());
+    List<ItemDailySales> daily = itemSalesRepository.findDaily(Set.of(book.getId()), salesDate, salesDate);
+    assertEquals(1, daily.size());
+    assertEquals(8, daily.get(0).getQuantity());
+    assertEquals(80000, daily.get(0).getRevenue());
+  }
+}
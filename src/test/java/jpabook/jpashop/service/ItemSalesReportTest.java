@@ -0,0 +1,109 @@
+package jpabook.jpashop.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.ItemSalesEntry;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.StockLedgerEntry;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.repository.ItemSalesRepository;
+import jpabook.jpashop.repository.OrderRepository;
+import jpabook.jpashop.repository.StockLedgerRepository;
+import jpabook.jpashop.service.query.ItemSalesReportService;
+import jpabook.jpashop.service.query.ItemSalesReportService.DailySalesDto;
+import jpabook.jpashop.service.query.ItemSalesReportService.ItemSalesSummaryDto;
+
+@SpringBootTest
+@Transactional
+public class ItemSalesReportTest {
+
+  @Autowired EntityManager em;
+  @Autowired OrderService orderService;
+  @Autowired OrderRepository orderRepository;
+  @Autowired ItemSalesAggregator itemSalesAggregator;
+  @Autowired ItemSalesReportService itemSalesReportService;
+  @Autowired ItemSalesRepository itemSalesRepository;
+  @Autowired StockLedgerRepository stockLedgerRepository;
+
+  @Test
+  public void 주문과취소가일별판매집계에반영() throws Exception {
+    // given
+    Member member = createMember();
+    Book book = createBook("sales book", 10000, 100);
+
+    // when: 2개 주문, 3개 주문 후 취소
+    Long orderId = orderService.order(member.getId(), book.getId(), 2);
+    Long canceledId = orderService.order(member.getId(), book.getId(), 3);
+    orderService.cancelOrder(canceledId);
+    LocalDate salesDate = orderRepository.findOne(orderId).getOrderDate().toLocalDate();
+
+    // then: 반영 전에도 미반영 변경분을 합산
+    assertSales(salesDate, book.getId(), 2, 20000);
+
+    // 반영 후
+    itemSalesAggregator.flush();
+    em.flush();
+    em.clear();
+    assertSales(salesDate, book.getId(), 2, 20000);
+
+    // 재생성 후 (취소 주문 제외)
+    itemSalesAggregator.rebuild();
+    em.flush();
+    em.clear();
+    assertSales(salesDate, book.getId(), 2, 20000);
+  }
+
+  @Test
+  public void 회전율은미반영재고원장을포함한재고기준() {
+    // given: DB 재고 10, 인기 상품 원장 -4 (판매 가능 6), 판매 3
+    Book book = createBook("turnover book", 10000, 10);
+    LocalDate salesDate = LocalDate.of(2024, 1, 1);
+    stockLedgerRepository.save(new StockLedgerEntry(book.getId(), -4));
+    itemSalesRepository.save(new ItemSalesEntry(book.getId(), salesDate, 3, 30000));
+    em.flush();
+
+    // when
+    ItemSalesSummaryDto summary = itemSalesReportService.findSummary(salesDate, salesDate).stream()
+        .filter(s -> s.getItemId().equals(book.getId()))
+        .findFirst()
+        .orElseThrow();
+
+    // then
+    assertEquals(6, summary.getStockQuantity());
+    assertEquals(0.5, summary.getTurnover());
+  }
+
+  private Book createBook(String name, int price, int stockQuantity) {
+    Book book = new Book();
+    book.setName(name);
+    book.setPrice(price);
+    book.setStockQuantity(stockQuantity);
+    em.persist(book);
+    return book;
+  }
+
+  private Member createMember() {
+    Member member = new Member();
+    member.setName("sales-" + System.nanoTime());
+    member.setAddress(new Address("서울", "강가", "123123"));
+    em.persist(member);
+    return member;
+  }
+
+  private void assertSales(LocalDate salesDate, Long itemId, long quantity, long revenue) {
+    List<DailySalesDto> daily = itemSalesReportService.findDailySales(salesDate, salesDate, itemId);
+    assertEquals(1, daily.size());
+    assertEquals(quantity, daily.get(0).getQuantity(), "취소를 차감한 판매 수량");
+    assertEquals(revenue, daily.get(0).getRevenue());
+  }
+}
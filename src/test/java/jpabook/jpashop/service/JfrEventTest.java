@@ -0,0 +1,101 @@
+package jpabook.jpashop.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.repository.order.query.OrderQueryRepository;
+
+@SpringBootTest
+@Transactional
+public class JfrEventTest {
+
+  @Autowired EntityManager em;
+  @Autowired OrderService orderService;
+  @Autowired OrderQueryRepository orderQueryRepository;
+
+  @Test
+  public void 주문과재고변경과DTO조립이벤트기록() throws Exception {
+    // given
+    Member member = createMember();
+    Book book = createBook("jfr book", 10000, 10);
+
+    List<RecordedEvent> events;
+    try (Recording recording = new Recording()) {
+      recording.enable("jpashop.OrderPlace").withoutThreshold();
+      recording.enable("jpashop.OrderCancel").withoutThreshold();
+      recording.enable("jpashop.StockChange").withoutThreshold();
+      recording.enable("jpashop.DtoAssembly").withoutThreshold();
+      recording.start();
+
+      // when
+      Long orderId = orderService.order(member.getId(), book.getId(), 3);
+      orderService.cancelOrder(orderId);
+      em.flush();
+      orderQueryRepository.findAllByDto_optimized();
+
+      recording.stop();
+      Path file = Files.createTempFile("jpashop", ".jfr");
+      recording.dump(file);
+      events = RecordingFile.readAllEvents(file);
+      Files.deleteIfExists(file);
+    }
+
+    // then
+    RecordedEvent place = single(events, "jpashop.OrderPlace");
+    assertEquals(member.getId().longValue(), place.getLong("memberId"));
+    assertEquals(3, place.getInt("itemQuantity"));
+
+    List<Integer> deltas = events.stream()
+        .filter(e -> e.getEventType().getName().equals("jpashop.StockChange"))
+        .map(e -> e.getInt("delta"))
+        .collect(Collectors.toList());
+    assertEquals(List.of(-3, 3), deltas);
+
+    assertEquals(1, single(events, "jpashop.OrderCancel").getInt("lineCount"));
+    assertTrue(events.stream()
+        .filter(e -> e.getEventType().getName().equals("jpashop.DtoAssembly"))
+        .anyMatch(e -> e.getString("phase").equals("collection")));
+  }
+
+  private Book createBook(String name, int price, int stockQuantity) {
+    Book book = new Book();
+    book.setName(name);
+    book.setPrice(price);
+    book.setStockQuantity(stockQuantity);
+    em.persist(book);
+    return book;
+  }
+
+  private Member createMember() {
+    Member member = new Member();
+    member.setName("jfr-" + System.nanoTime());
+    member.setAddress(new Address("서울", "강가", "123123"));
+    em.persist(member);
+    return member;
+  }
+
+  private RecordedEvent single(List<RecordedEvent> events, String name) {
+    List<RecordedEvent> found = events.stream()
+        .filter(e -> e.getEventType().getName().equals(name))
+        .collect(Collectors.toList());
+    assertEquals(1, found.size(), name);
+    return found.get(0);
+  }
+}
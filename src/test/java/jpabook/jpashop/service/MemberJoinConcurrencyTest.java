@@ -0,0 +1,84 @@
+package jpabook.jpashop.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.repository.MemberRepository;
+
+// 여러 스레드가 각자의 트랜잭션으로 가입해야 하므로 @Transactional 사용하지 않음
+// - 커밋한 회원은 @AfterEach에서 삭제
+// - Bloom 필터는 삭제를 지원하지 않으므로 이름이 남은 컨텍스트는 다른 테스트와 공유하지 않음
+@SpringBootTest
+@DirtiesContext
+public class MemberJoinConcurrencyTest {
+
+  @Autowired MemberService memberService;
+  @Autowired MemberRepository memberRepository;
+  @Autowired EntityManager em;
+  @Autowired PlatformTransactionManager transactionManager;
+
+  String name = "concurrent-" + System.nanoTime();
+
+  @AfterEach
+  public void cleanUp() {
+    new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+        memberRepository.findByName(name).forEach(em::remove));
+  }
+
+  @Test
+  public void 같은이름동시가입() throws Exception {
+    // given: 처음 쓰는 이름이므로 Bloom 필터는 중복 조회를 생략하고 유니크 제약에서 걸러짐
+    int threads = 8;
+    AtomicInteger joined = new AtomicInteger();
+    AtomicInteger duplicated = new AtomicInteger();
+    CountDownLatch start = new CountDownLatch(1);
+
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    List<Future<?>> futures = new ArrayList<>();
+
+    // when
+    for (int t = 0; t < threads; t++) {
+      futures.add(executor.submit(() -> {
+        start.await();
+        Member member = new Member();
+        member.setName(name);
+        try {
+          memberService.join(member);
+          joined.incrementAndGet();
+        } catch (IllegalStateException e) {
+          assertEquals("이미 존재하는 회원입니다.", e.getMessage());
+          duplicated.incrementAndGet();
+        }
+        return null;
+      }));
+    }
+    start.countDown();
+    for (Future<?> future : futures) {
+      future.get(10, TimeUnit.SECONDS);
+    }
+    executor.shutdown();
+
+    // then
+    assertEquals(1, joined.get());
+    assertEquals(threads - 1, duplicated.get());
+    assertEquals(1, memberRepository.findByName(name).size());
+  }
+}
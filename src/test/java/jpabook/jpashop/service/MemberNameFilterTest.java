@@ -0,0 +1,74 @@
+package jpabook.jpashop.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+
+import jpabook.jpashop.repository.MemberRepository;
+
+public class MemberNameFilterTest {
+
+  static final int NAMES = 1000;
+
+  @Test
+  public void 저장된이름은항상포함() {
+    // given
+    MemberNameFilter filter = filter(NAMES);
+
+    // when, then: 시작 시 읽은 이름, 이후 추가한 이름 모두 false가 나오면 안 됨
+    for (int i = 0; i < NAMES; i++) {
+      assertTrue(filter.mightContain("member-" + i));
+    }
+    filter.put("new-member");
+    assertTrue(filter.mightContain("new-member"));
+  }
+
+  @Test
+  public void 오탐률은설정값근처() {
+    // given: 1000건, 오탐률 1%로 생성
+    MemberNameFilter filter = filter(NAMES);
+
+    // when
+    int trials = 10000;
+    int falsePositives = 0;
+    for (int i = 0; i < trials; i++) {
+      if (filter.mightContain("other-" + i)) {
+        falsePositives++;
+      }
+    }
+
+    // then: 여유를 두고 3% 이하
+    assertTrue(falsePositives < trials * 0.03, "falsePositives=" + falsePositives);
+  }
+
+  @Test
+  public void 채우기전에는모든이름이있을수있음() {
+    MemberNameFilter filter = new MemberNameFilter(mock(MemberRepository.class), NAMES, 0.01);
+
+    assertTrue(filter.mightContain("anyone"));
+    filter.warmUp();
+    assertFalse(filter.mightContain("anyone"));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static MemberNameFilter filter(int names) {
+    MemberRepository memberRepository = mock(MemberRepository.class);
+    doAnswer(invocation -> {
+      Consumer<String> action = invocation.getArgument(0);
+      for (int i = 0; i < names; i++) {
+        action.accept("member-" + i);
+      }
+      return null;
+    }).when(memberRepository).forEachName(any(Consumer.class));
+
+    MemberNameFilter filter = new MemberNameFilter(memberRepository, names, 0.01);
+    filter.warmUp();
+    return filter;
+  }
+}
@@ -0,0 +1,8 @@
+package jpabook.jpashop.service;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+// 같은 시나리오를 낙관적 락(@Version + 재시도) 모드로 실행
+@SpringBootTest(properties = "jpashop.stock.mode=OPTIMISTIC")
+public class OptimisticStockConcurrencyTest extends StockConcurrencyTest {
+}
@@ -0,0 +1,97 @@
+package jpabook.jpashop.service;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.item.Book;
+
+// 주문 한 건당 DB로 나가는 statement 수를 JDBC 배치 적용 전/후로 비교 (주문마다 커밋하므로 @AfterEach에서 삭제)
+@SpringBootTest
+public class OrderInsertBatchingTest {
+
+  private static final Logger log = LoggerFactory.getLogger(OrderInsertBatchingTest.class);
+
+  @Autowired EntityManager em;
+  @Autowired OrderService orderService;
+  @Autowired MemberService memberService;
+  @Autowired ItemService itemService;
+  @Autowired PlatformTransactionManager transactionManager;
+
+  CommittedTestData committed;
+
+  @BeforeEach
+  public void setUp() {
+    committed = new CommittedTestData(em, transactionManager);
+  }
+
+  @AfterEach
+  public void cleanUp() {
+    committed.deleteAll();
+  }
+
+  @Test
+  public void 주문당_statement_수() throws Exception {
+    // given
+    int orders = 20;
+    int lines = 5;
+
+    Member member = new Member();
+    member.setName("배치주문-" + UUID.randomUUID());
+    member.setAddress(new Address("서울", "강가", "123123"));
+    memberService.join(member);
+    committed.add(member);
+
+    Map<Long, Integer> basket = new HashMap<>();
+    for (int i = 0; i < lines; i++) {
+      Book book = new Book();
+      book.setName("배치상품 " + i);
+      book.setPrice(10000);
+      book.setStockQuantity(orders * 2);
+      itemService.save(book);
+      committed.add(book);
+      basket.put(book.getId(), 1);
+    }
+
+    // when
+    double before = statementsPerOrder(1, orders, member.getId(), basket);     // 배치 없이 한 행씩
+    double after = statementsPerOrder(null, orders, member.getId(), basket);   // hibernate.jdbc.batch_size 적용
+
+    // then
+    log.info("[batching] lines/order={} statements/order before={} after={}",
+        lines, String.format("%.1f", before), String.format("%.1f", after));
+    assertTrue(after < before, "배치 적용 시 주문당 statement 수 감소");
+  }
+
+  private double statementsPerOrder(Integer batchSize, int orders, Long memberId, Map<Long, Integer> basket) {
+    Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+    statistics.clear();
+    for (int i = 0; i < orders; i++) {
+      tx.executeWithoutResult(status -> {
+        em.unwrap(Session.class).setJdbcBatchSize(batchSize);
+        orderService.order(memberId, basket);
+      });
+    }
+    return (double) statistics.getPrepareStatementCount() / orders;
+  }
+}
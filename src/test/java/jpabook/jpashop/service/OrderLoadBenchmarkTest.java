@@ -0,0 +1,153 @@
+package jpabook.jpashop.service;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.item.Book;
+
+/*
+ * 플랫폼 스레드(기본 Tomcat 스레드 풀) 부하 측정 (./gradlew benchmark)
+ * - 가상 스레드 모드는 VirtualThreadOrderLoadBenchmarkTest (./gradlew -PjavaVersion=21 benchmark)
+ * - 같은 동시 사용자 수로 GET /api/v5/orders, POST /order 의 처리량과 p50/p99 지연 시간 출력
+ * - 응답 캐시는 끄고 매 요청이 DB를 조회하도록 측정, 커넥션 풀 크기는 두 모드 모두 20
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+        "jpashop.order-cache.enabled=false",
+        "spring.datasource.hikari.maximum-pool-size=20"
+    })
+public class OrderLoadBenchmarkTest {
+
+  private static final Logger log = LoggerFactory.getLogger(OrderLoadBenchmarkTest.class);
+
+  static final int CLIENTS = 200;
+  static final long WARMUP_MILLIS = 2000;
+  static final long DURATION_MILLIS = 10000;
+
+  @LocalServerPort int port;
+  @Autowired MemberService memberService;
+  @Autowired ItemService itemService;
+
+  HttpClient client = HttpClient.newHttpClient();
+
+  @Test
+  public void 주문조회와주문등록부하() throws Exception {
+    Long memberId = createMember();
+    Long itemId = createBook();
+
+    Supplier<HttpRequest> ordersV5 = () -> HttpRequest.newBuilder(uri("/api/v5/orders")).GET().build();
+    Supplier<HttpRequest> order = () -> HttpRequest.newBuilder(uri("/order"))
+        .header("Content-Type", "application/x-www-form-urlencoded")
+        .POST(HttpRequest.BodyPublishers.ofString("memberId=" + memberId + "&itemId=" + itemId + "&count=1"))
+        .build();
+
+    run("GET /api/v5/orders", ordersV5);
+    run("POST /order", order);
+  }
+
+  private void run(String name, Supplier<HttpRequest> request) throws Exception {
+    load(request, WARMUP_MILLIS);
+    Result result = load(request, DURATION_MILLIS);
+    log.info("[{}] {} requests/s={} p50={}ms p99={}ms errors={}",
+        mode(), name, String.format("%.0f", result.count() * 1000.0 / DURATION_MILLIS),
+        String.format("%.1f", result.percentile(0.50)), String.format("%.1f", result.percentile(0.99)), result.errors());
+  }
+
+  protected String mode() {
+    return "platform";
+  }
+
+  private Result load(Supplier<HttpRequest> request, long durationMillis) throws Exception {
+    long deadline = System.currentTimeMillis() + durationMillis;
+    AtomicLong errors = new AtomicLong();
+    ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+    List<Future<long[]>> futures = new ArrayList<>();
+
+    for (int c = 0; c < CLIENTS; c++) {
+      futures.add(executor.submit(() -> {
+        long[] latencies = new long[1024];
+        int size = 0;
+        while (System.currentTimeMillis() < deadline) {
+          long start = System.nanoTime();
+          HttpResponse<Void> response = client.send(request.get(), HttpResponse.BodyHandlers.discarding());
+          long elapsed = System.nanoTime() - start;
+          // 주문 등록은 목록 화면으로 redirect
+          if (response.statusCode() >= 400) {
+            errors.incrementAndGet();
+            continue;
+          }
+          if (size == latencies.length) {
+            latencies = Arrays.copyOf(latencies, size * 2);
+          }
+          latencies[size++] = elapsed;
+        }
+        return Arrays.copyOf(latencies, size);
+      }));
+    }
+
+    List<long[]> all = new ArrayList<>();
+    for (Future<long[]> future : futures) {
+      all.add(future.get());
+    }
+    executor.shutdown();
+
+    long[] merged = all.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+    return new Result(merged, errors.get());
+  }
+
+  private URI uri(String path) {
+    return URI.create("http://localhost:" + port + path);
+  }
+
+  private Long createMember() {
+    Member member = new Member();
+    member.setName("load-" + System.nanoTime());
+    member.setAddress(new Address("서울", "강가", "123123"));
+    return memberService.join(member);
+  }
+
+  private Long createBook() {
+    Book book = new Book();
+    book.setName("load book");
+    book.setPrice(10000);
+    book.setStockQuantity(Integer.MAX_VALUE);
+    itemService.save(book);
+    return book.getId();
+  }
+
+  record Result(long[] sortedNanos, long errors) {
+
+    int count() {
+      return sortedNanos.length;
+    }
+
+    double percentile(double p) {
+      if (sortedNanos.length == 0) {
+        return 0;
+      }
+      int index = (int) Math.ceil(p * sortedNanos.length) - 1;
+      return sortedNanos[Math.max(index, 0)] / 1_000_000.0;
+    }
+  }
+}
@@ -0,0 +1,132 @@
+package jpabook.jpashop.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Delivery;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.OrderItem;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.repository.order.query.OrderQueryDto;
+import jpabook.jpashop.repository.order.query.OrderQueryRepository;
+
+/*
+ * 주문 상품 IN 쿼리 청크 분할 / 병렬 조회
+ * - 청크 크기를 2로 줄여 주문 수와 관계없이 여러 청크가 생기도록 함
+ * - 병렬 조회는 각 청크가 별도 트랜잭션이므로 데이터를 커밋한 뒤 트랜잭션 밖에서 호출
+ */
+@SpringBootTest(properties = {
+    "jpashop.order-query.in-chunk-size=2",
+    "jpashop.order-query.parallel=true",
+    "jpashop.order-query.parallelism=2"
+})
+public class OrderQueryChunkTest {
+
+  private static final int ORDERS = 5;
+
+  @Autowired EntityManager em;
+  @Autowired PlatformTransactionManager transactionManager;
+  @Autowired OrderQueryRepository orderQueryRepository;
+  @SpyBean(name = "orderQueryExecutor") TaskExecutor orderQueryExecutor;
+
+  private Member member;
+  private Book book;
+
+  @Test
+  public void 트랜잭션밖에서는청크를병렬조회() {
+    // given
+    TransactionTemplate tx = new TransactionTemplate(transactionManager);
+    List<Long> orderIds = tx.execute(status -> 주문생성());
+
+    try {
+      // when
+      Map<Long, OrderQueryDto> result = byId(orderQueryRepository.findAllByDto_optimized());
+
+      // then: 모든 주문의 주문 상품이 병합되고, 청크(2건씩)마다 orderQueryExecutor에서 조회
+      assertOrderItems(orderIds, result);
+      verify(orderQueryExecutor, atLeast((ORDERS + 1) / 2)).execute(any());
+    } finally {
+      // 커밋한 데이터 정리
+      tx.executeWithoutResult(status -> {
+        orderIds.forEach(id -> em.remove(em.find(Order.class, id)));
+        em.remove(em.find(Member.class, member.getId()));
+        em.remove(em.find(Book.class, book.getId()));
+      });
+    }
+  }
+
+  @Test
+  public void 진행중인트랜잭션에서는같은트랜잭션으로순차조회() {
+    TransactionTemplate tx = new TransactionTemplate(transactionManager);
+    tx.executeWithoutResult(status -> {
+      // given: 커밋하지 않은 주문
+      List<Long> orderIds = 주문생성();
+      em.flush();
+
+      // when
+      Map<Long, OrderQueryDto> result = byId(orderQueryRepository.findAllByDto_optimized());
+
+      // then: 호출 스레드가 커넥션을 쥐고 있으므로 병렬 조회하지 않고, 커밋 전 데이터도 조회
+      assertOrderItems(orderIds, result);
+      verify(orderQueryExecutor, never()).execute(any());
+
+      status.setRollbackOnly();
+    });
+  }
+
+  private List<Long> 주문생성() {
+    member = new Member();
+    member.setName("chunk-" + System.nanoTime());
+    member.setAddress(new Address("서울", "강가", "123123"));
+    em.persist(member);
+
+    book = new Book();
+    book.setName("chunk book");
+    book.setPrice(10000);
+    book.setStockQuantity(100);
+    em.persist(book);
+
+    List<Long> orderIds = new ArrayList<>();
+    for (int i = 0; i < ORDERS; i++) {
+      Delivery delivery = new Delivery();
+      delivery.setAddress(member.getAddress());
+      Order order = Order.createOrder(member, delivery,
+          OrderItem.createOrderItemWithoutStock(book, book.getPrice(), i + 1));
+      em.persist(order);
+      orderIds.add(order.getId());
+    }
+    return orderIds;
+  }
+
+  private void assertOrderItems(List<Long> orderIds, Map<Long, OrderQueryDto> result) {
+    for (int i = 0; i < orderIds.size(); i++) {
+      OrderQueryDto order = result.get(orderIds.get(i));
+      assertEquals(1, order.getOrderItems().size());
+      assertEquals(i + 1, order.getOrderItems().get(0).getCount());
+    }
+  }
+
+  private static Map<Long, OrderQueryDto> byId(List<OrderQueryDto> orders) {
+    return orders.stream().collect(Collectors.toMap(OrderQueryDto::getOrderId, Function.identity()));
+  }
+}
@@ -0,0 +1,192 @@
+package jpabook.jpashop.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.monitoring.SqlScope;
+import jpabook.jpashop.monitoring.SqlStatementMonitor;
+import jpabook.jpashop.repository.MemberNameMatch;
+import jpabook.jpashop.repository.OrderRepository;
+import jpabook.jpashop.repository.OrderSearch;
+import jpabook.jpashop.repository.OrderSort;
+
+@SpringBootTest
+@Transactional
+public class OrderSearchTest {
+
+  @Autowired EntityManager em;
+  @Autowired OrderService orderService;
+  @Autowired MemberService memberService;
+  @Autowired OrderRepository orderRepository;
+  @Autowired SqlStatementMonitor sqlStatementMonitor;
+
+  // 다른 테스트 데이터와 겹치지 않는 검색어
+  String token = "q" + System.nanoTime();
+
+  @Test
+  public void 이름시작검색은대소문자구분없음() {
+    // given
+    Long upper = 주문(회원(token.toUpperCase(Locale.ROOT) + "Alpha"));
+    Long lower = 주문(회원(token + "beta"));
+    주문(회원("x" + token));  // 중간에 포함
+
+    // when
+    Page<Order> page = 검색(token, MemberNameMatch.PREFIX, 0, 10);
+
+    // then
+    assertEquals(Set.of(upper, lower), ids(page.getContent()));
+    assertEquals(2, page.getTotalElements());
+  }
+
+  @Test
+  public void 이름포함검색() {
+    // given
+    Long upper = 주문(회원(token.toUpperCase(Locale.ROOT) + "Alpha"));
+    Long middle = 주문(회원("x" + token + "y"));
+    주문(회원("other" + System.nanoTime()));
+
+    // when
+    Page<Order> page = 검색(token, MemberNameMatch.CONTAINS, 0, 10);
+
+    // then
+    assertEquals(Set.of(upper, middle), ids(page.getContent()));
+    assertEquals(2, page.getTotalElements());
+  }
+
+  @Test
+  public void 한글자검색() {
+    // given: gram이 없는 1글자 검색어, 1글자 이름
+    Long single = 주문(회원("Ω"));
+    Long contains = 주문(회원(token + "ω"));
+
+    // when
+    Page<Order> contained = 검색("ω", MemberNameMatch.CONTAINS, 0, 1000);
+    Page<Order> prefixed = 검색("ω", MemberNameMatch.PREFIX, 0, 1000);
+
+    // then
+    assertTrue(ids(contained.getContent()).containsAll(Set.of(single, contains)));
+    assertTrue(ids(prefixed.getContent()).contains(single));
+    assertFalse(ids(prefixed.getContent()).contains(contains), "PREFIX는 시작 글자만");
+    contained.getContent().forEach(o ->
+        assertTrue(o.getMember().getName().toLowerCase(Locale.ROOT).contains("ω"), o.getMember().getName()));
+  }
+
+  @Test
+  public void 페이지경계와전체개수() {
+    // given: 회원 1명, 주문 5건
+    Member member = 회원(token);
+    for (int i = 0; i < 5; i++) {
+      주문(member);
+    }
+
+    // when, then: 2건씩 -> 2, 2, 1, 0
+    int[] sizes = {2, 2, 1, 0};
+    Set<Long> seen = new HashSet<>();
+    for (int p = 0; p < sizes.length; p++) {
+      Page<Order> page = 검색(token, MemberNameMatch.CONTAINS, p, 2);
+      assertEquals(sizes[p], page.getContent().size(), "page " + p);
+      assertEquals(5, page.getTotalElements());
+      assertEquals(3, page.getTotalPages());
+      seen.addAll(ids(page.getContent()));
+    }
+    assertEquals(5, seen.size(), "페이지 사이에 중복, 누락 없음");
+  }
+
+  @Test
+  public void gram이없는기존회원백필() {
+    // given: gram 도입 전에 저장된 회원 (gram 행 없음)
+    Member member = 회원(token + "legacy");
+    Long orderId = 주문(member);
+    em.flush();
+    em.createNativeQuery("delete from member_name_gram where member_id = :memberId")
+        .setParameter("memberId", member.getId())
+        .executeUpdate();
+    em.clear();
+    assertEquals(0, 검색(token, MemberNameMatch.CONTAINS, 0, 10).getTotalElements());
+
+    // when
+    int updated = memberService.backfillNameGrams(2);
+    em.flush();
+    em.clear();
+
+    // then
+    assertTrue(updated >= 1);
+    assertEquals(Set.of(orderId), ids(검색(token, MemberNameMatch.CONTAINS, 0, 10).getContent()));
+  }
+
+  @Test
+  public void 주문금액순정렬은주문상품을읽지않음() {
+    // given: 수량 1, 3, 2 주문 (같은 가격)
+    Member member = 회원(token);
+    Long small = 주문(member, 1);
+    Long large = 주문(member, 3);
+    Long middle = 주문(member, 2);
+    em.flush();
+    em.clear();
+
+    OrderSearch orderSearch = new OrderSearch();
+    orderSearch.setMemberName(token);
+    orderSearch.setSort(OrderSort.TOTAL_PRICE);
+
+    // when
+    SqlScope scope = sqlStatementMonitor.open("total price sort", 2);
+    Page<Order> page = orderRepository.search(orderSearch, PageRequest.of(0, 10));
+    sqlStatementMonitor.close(scope);
+
+    // then: 목록 + 전체 개수, 주문 상품 조회 없음
+    assertEquals(List.of(large, middle, small), page.getContent().stream().map(Order::getId).toList());
+    assertEquals(2, scope.getStatementCount());
+    assertTrue(scope.getSelectCounts().keySet().stream().noneMatch(sql -> sql.contains("order_item")));
+  }
+
+  private Page<Order> 검색(String name, MemberNameMatch match, int page, int size) {
+    OrderSearch orderSearch = new OrderSearch();
+    orderSearch.setMemberName(name);
+    orderSearch.setNameMatch(match);
+    return orderService.searchOrders(orderSearch, PageRequest.of(page, size));
+  }
+
+  private Member 회원(String name) {
+    Member member = new Member();
+    member.setName(name);
+    member.setAddress(new Address("서울", "강가", "123123"));
+    em.persist(member);
+    return member;
+  }
+
+  private Long 주문(Member member) {
+    return 주문(member, 1);
+  }
+
+  private Long 주문(Member member, int count) {
+    Book book = new Book();
+    book.setName("search book");
+    book.setPrice(10000);
+    book.setStockQuantity(10);
+    em.persist(book);
+    return orderService.order(member.getId(), book.getId(), count);
+  }
+
+  private static Set<Long> ids(List<Order> orders) {
+    return orders.stream().map(Order::getId).collect(Collectors.toSet());
+  }
+}
@@ -2,6 +2,10 @@ package jpabook.jpashop.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,6 +28,7 @@ public class OrderServiceTest {
   @Autowired EntityManager em;
   @Autowired OrderService orderService;
   @Autowired OrderRepository orderRepository;
+  @Autowired OrderTotalsService orderTotalsService;
 
   @Test
   public void 상품주문() throws Exception {
@@ -44,6 +49,26 @@ public class OrderServiceTest {
     assertEquals(8, book.getStockQuantity(), "주문 수량만큼 재고 감소");
   }
 
+  @Test
+  public void 장바구니주문() throws Exception {
+    // given
+    Member member = createMember();
+    Book book1 = createBook("책 1", 10000, 10);
+    Book book2 = createBook("책 2", 20000, 10);
+
+    // when
+    Long orderId = orderService.order(member.getId(), Map.of(book2.getId(), 3, book1.getId(), 2));
+
+    // then
+    Order getOrder = orderRepository.findOne(orderId);
+
+    assertEquals(2, getOrder.getOrderItems().size(), "장바구니 상품이 하나의 주문으로 생성");
+    assertEquals(10000 * 2 + 20000 * 3, getOrder.getTotalPrice(), "주문 가격: 상품별 수량 * 가격의 합");
+    assertEquals(2, getOrder.getItemCount(), "주문 상품 수");
+    assertEquals(8, book1.getStockQuantity(), "상품별 주문 수량만큼 재고 감소");
+    assertEquals(7, book2.getStockQuantity(), "상품별 주문 수량만큼 재고 감소");
+  }
+
   @Test
   public void 재고수량초과() throws Exception {
     // given
@@ -78,6 +103,39 @@ public class OrderServiceTest {
 
   }
 
+  @Test
+  public void 주문총액정합성확인과백필() throws Exception {
+    // given: 비정규화 컬럼이 어긋난 주문
+    Member member = createMember();
+    Book book = createBook("책 1", 10000, 10);
+    Long orderId = orderService.order(member.getId(), book.getId(), 2);
+    em.flush();
+    em.createNativeQuery("update orders set total_price = 0, item_count = 0 where order_id = :id")
+        .setParameter("id", orderId)
+        .executeUpdate();
+
+    // when
+    List<OrderTotalsService.Drift> drift = orderTotalsService.findDrift(100);
+
+    // then
+    OrderTotalsService.Drift found = drift.stream()
+        .filter(d -> d.getOrderId().equals(orderId))
+        .findFirst()
+        .orElseThrow();
+    assertEquals(20000, found.getExpectedTotalPrice());
+    assertEquals(1, found.getExpectedItemCount());
+
+    // when
+    orderTotalsService.backfill(1000);
+    em.clear();
+
+    // then
+    Order getOrder = orderRepository.findOne(orderId);
+    assertEquals(20000, getOrder.getTotalPrice(), "주문 상품 합계로 다시 계산");
+    assertEquals(1, getOrder.getItemCount());
+    assertTrue(orderTotalsService.findDrift(100).stream().noneMatch(d -> d.getOrderId().equals(orderId)));
+  }
+
   private Book createBook(String name, int price, int StockQuantity) {
     Book book = new Book();
     book.setName(name);
@@ -0,0 +1,116 @@
+package jpabook.jpashop.service;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jpabook.jpashop.datasource.ReadWriteDataSources;
+import jpabook.jpashop.datasource.ReadWriteRoutingDataSource;
+import jpabook.jpashop.datasource.ReplicaDataSourceProperties;
+
+/*
+ * 복제본 수에 따른 읽기 처리량 비교 (./gradlew benchmark)
+ * - 읽기 한 번 = 5ms 동안 커넥션을 잡는 쿼리 (원격 DB 조회 대신 H2 SLEEP 함수 사용)
+ * - 풀 크기를 DB마다 4로 고정하므로 읽기 처리량은 읽기를 나눠 받는 DB 수에 비례해야 함
+ * - 복제본 0개: primary가 모든 읽기 처리
+ */
+@Tag("benchmark")
+public class ReadReplicaBenchmarkTest {
+
+  private static final Logger log = LoggerFactory.getLogger(ReadReplicaBenchmarkTest.class);
+
+  static final int POOL_SIZE = 4;
+  static final int THREADS = 32;
+  static final long QUERY_MILLIS = 5;
+  static final long DURATION_MILLIS = 3000;
+
+  @Test
+  public void 복제본수별읽기처리량() throws Exception {
+    for (int replicas = 0; replicas <= 3; replicas++) {
+      double throughput = measure(replicas);
+      log.info("replicas={} reads/s={}", replicas, String.format("%.0f", throughput));
+    }
+  }
+
+  private double measure(int replicaCount) throws Exception {
+    String prefix = "jdbc:h2:mem:bench" + replicaCount + "_";
+
+    DataSourceProperties primaryProperties = new DataSourceProperties();
+    primaryProperties.setUrl(createDatabase(prefix + "primary;DB_CLOSE_DELAY=-1"));
+    primaryProperties.setUsername("sa");
+    primaryProperties.afterPropertiesSet();
+
+    ReplicaDataSourceProperties properties = new ReplicaDataSourceProperties();
+    properties.setPrimaryPoolSize(POOL_SIZE);
+    for (int i = 0; i < replicaCount; i++) {
+      ReplicaDataSourceProperties.Replica replica = new ReplicaDataSourceProperties.Replica();
+      replica.setUrl(createDatabase(prefix + "replica" + i + ";DB_CLOSE_DELAY=-1"));
+      replica.setUsername("sa");
+      replica.setPoolSize(POOL_SIZE);
+      properties.getReplicas().add(replica);
+    }
+
+    try (ReadWriteDataSources dataSources = new ReadWriteDataSources(primaryProperties, properties, new Binder())) {
+      LazyConnectionDataSourceProxy dataSource =
+          new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(dataSources));
+      JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+      TransactionTemplate readOnly = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+      readOnly.setReadOnly(true);
+
+      LongAdder reads = new LongAdder();
+      CountDownLatch start = new CountDownLatch(1);
+      long deadline = System.currentTimeMillis() + DURATION_MILLIS;
+      ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+      List<Runnable> workers = new ArrayList<>();
+      for (int t = 0; t < THREADS; t++) {
+        workers.add(() -> {
+          awaitQuietly(start);
+          while (System.currentTimeMillis() < deadline) {
+            readOnly.executeWithoutResult(status -> jdbcTemplate.execute("CALL SLEEP(" + QUERY_MILLIS + ")"));
+            reads.increment();
+          }
+        });
+      }
+      workers.forEach(executor::execute);
+      start.countDown();
+      executor.shutdown();
+      executor.awaitTermination(DURATION_MILLIS * 2, TimeUnit.MILLISECONDS);
+
+      return reads.sum() * 1000.0 / DURATION_MILLIS;
+    }
+  }
+
+  private static String createDatabase(String url) throws Exception {
+    try (Connection connection = DriverManager.getConnection(url, "sa", "");
+        Statement statement = connection.createStatement()) {
+      statement.execute("CREATE ALIAS IF NOT EXISTS SLEEP FOR 'java.lang.Thread.sleep(long)'");
+    }
+    return url;
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,65 @@
+package jpabook.jpashop.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Member;
+
+// H2 메모리 DB: primary 1 + 복제본 2 (replica1은 접속 불가 -> 읽기 대상에서 제외되어야 함)
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:routing_primary;DB_CLOSE_DELAY=-1",
+    "jpashop.datasource.routing.enabled=true",
+    "jpashop.datasource.copy-primary-on-startup=true",
+    "jpashop.datasource.replicas[0].url=jdbc:h2:mem:routing_replica0;DB_CLOSE_DELAY=-1",
+    "jpashop.datasource.replicas[0].username=sa",
+    "jpashop.datasource.replicas[1].url=jdbc:h2:tcp://localhost:1/unreachable",
+    "jpashop.datasource.replicas[1].username=sa"
+})
+public class ReadReplicaRoutingTest {
+
+  @Autowired MemberService memberService;
+  @Autowired PlatformTransactionManager transactionManager;
+  @Autowired EntityManager em;
+
+  @Test
+  public void 읽기전용트랜잭션은복제본() {
+    // 접속할 수 없는 복제본은 건너뛰고 항상 replica0 사용
+    for (int i = 0; i < 4; i++) {
+      assertEquals("ROUTING_REPLICA0", currentDatabase(true));
+    }
+  }
+
+  @Test
+  public void 쓰기트랜잭션은primary() {
+    assertEquals("ROUTING_PRIMARY", currentDatabase(false));
+  }
+
+  @Test
+  public void 회원가입은primary_조회는복제본() {
+    // given
+    Member member = new Member();
+    member.setName("routing-" + System.nanoTime());
+    member.setAddress(new Address("서울", "강가", "123-123"));
+
+    // when
+    memberService.join(member);
+
+    // then: 복제본은 시작 시점 복사본이므로 primary에 새로 저장된 회원이 보이지 않음
+    assertTrue(memberService.findMembers().stream().noneMatch(m -> m.getName().equals(member.getName())),
+        "readOnly 조회는 복제본에서 실행되어야 한다.");
+  }
+
+  private String currentDatabase(boolean readOnly) {
+    TransactionTemplate template = new TransactionTemplate(transactionManager);
+    template.setReadOnly(readOnly);
+    return template.execute(status -> (String) em.createNativeQuery("select database()").getSingleResult());
+  }
+}
@@ -0,0 +1,171 @@
+package jpabook.jpashop.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.exception.SqlBudgetExceededException;
+import jpabook.jpashop.monitoring.SqlScope;
+import jpabook.jpashop.monitoring.SqlStatementMonitor;
+import jpabook.jpashop.repository.OrderFetchPlan;
+import jpabook.jpashop.repository.OrderRepository;
+import jpabook.jpashop.repository.OrderSearch;
+import jpabook.jpashop.repository.order.query.OrderField;
+import jpabook.jpashop.repository.order.query.OrderFieldsDto;
+import jpabook.jpashop.repository.order.query.OrderQueryRepository;
+import jpabook.jpashop.service.query.OrderDto;
+import jpabook.jpashop.service.query.OrderQueryService;
+
+@SpringBootTest
+@Transactional
+public class SqlBudgetTest {
+
+  @Autowired SqlStatementMonitor sqlStatementMonitor;
+  @Autowired OrderService orderService;
+  @Autowired OrderQueryService orderQueryService;
+  @Autowired OrderQueryRepository orderQueryRepository;
+  @Autowired OrderRepository orderRepository;
+  @Autowired EntityManager em;
+
+  @BeforeEach
+  public void 주문생성() {
+    Member member = createMember();
+    Book book = createBook("budget book", 10000, 100);
+
+    for (int i = 0; i < 5; i++) {
+      orderService.order(member.getId(), book.getId(), 1);
+    }
+    em.flush();
+    em.clear();
+  }
+
+  @Test
+  public void N플러스1탐지() {
+    // when: 주문마다 주문 상품을 따로 조회
+    SqlScope scope = sqlStatementMonitor.open("N+1", -1);
+    orderQueryRepository.findOrderQueryDtos();
+    sqlStatementMonitor.close(scope);
+
+    // then
+    assertFalse(scope.repeatedSelects(5).isEmpty(), "주문 상품 조회 SQL이 반복되어야 한다.");
+  }
+
+  @Test
+  public void 예산초과() {
+    assertThrows(SqlBudgetExceededException.class,
+        () -> sqlStatementMonitor.run("budget", 1, () -> orderQueryRepository.findOrderQueryDtos()));
+  }
+
+  @Test
+  public void fetchJoin은예산안에서실행() {
+    // when
+    SqlScope scope = sqlStatementMonitor.open("fetch join", 1);
+    orderQueryService.findOrdersWithItem();
+    sqlStatementMonitor.close(scope);
+
+    // then
+    assertEquals(1, scope.getStatementCount());
+    assertTrue(scope.repeatedSelects(2).isEmpty());
+  }
+
+  @Test
+  public void 컬렉션fetchJoin페이징() {
+    // when
+    SqlScope scope = sqlStatementMonitor.open("fetch join page", 3);
+    Page<OrderDto> page = orderQueryService.findOrdersWithItem(PageRequest.of(1, 2));
+    sqlStatementMonitor.close(scope);
+
+    // then: 주문 id 페이징 + fetch join + 전체 개수
+    assertEquals(2, page.getContent().size());
+    assertFalse(page.getContent().get(0).getOrderItems().isEmpty());
+    assertTrue(page.getTotalElements() >= 5);
+    assertTrue(page.getContent().get(0).getOrderId() < page.getContent().get(1).getOrderId());
+    assertTrue(scope.getStatementCount() <= 3);
+  }
+
+  @Test
+  public void fetchPlan별쿼리수() {
+    // when
+    SqlScope toOne = sqlStatementMonitor.open("member delivery", 1);
+    List<Order> simpleOrders = orderRepository.findAll(new OrderSearch(), OrderFetchPlan.MEMBER_DELIVERY);
+    sqlStatementMonitor.close(toOne);
+    em.clear();
+
+    SqlScope categories = sqlStatementMonitor.open("item categories", 2);
+    List<Order> orders = orderRepository.findAll(new OrderSearch(), OrderFetchPlan.ITEM_CATEGORIES);
+    sqlStatementMonitor.close(categories);
+
+    // then: ToOne만 있으면 1번, 컬렉션 포함이면 주문 id + 그래프 2번
+    assertEquals(1, toOne.getStatementCount());
+    assertTrue(Hibernate.isInitialized(simpleOrders.get(0).getMember()));
+    assertFalse(Hibernate.isInitialized(simpleOrders.get(0).getOrderItems()));
+
+    assertEquals(2, categories.getStatementCount());
+    Order order = orders.get(0);
+    assertTrue(Hibernate.isInitialized(order.getOrderItems()));
+    assertTrue(Hibernate.isInitialized(order.getOrderItems().get(0).getItem().getCategories()));
+  }
+
+  @Test
+  public void 요청한필드만조회() {
+    // when: 모바일 목록 (id, 상태, 총액)
+    SqlScope summary = sqlStatementMonitor.open("summary fields", 1);
+    List<OrderFieldsDto> orders = orderQueryRepository.findOrderFields(
+        OrderField.parse("orderId,orderStatus,totalPrice"), 0, 100);
+    sqlStatementMonitor.close(summary);
+
+    // then: 회원/배송 조인, 주문 상품 조회 없음
+    assertEquals(1, summary.getStatementCount());
+    assertTrue(summary.getSelectCounts().keySet().stream().noneMatch(sql -> sql.contains("delivery")));
+    OrderFieldsDto order = orders.get(0);
+    assertTrue(order.getTotalPrice() > 0);
+    assertNotNull(order.getOrderStatus());
+    assertNull(order.getName());
+    assertNull(order.getAddress());
+    assertNull(order.getOrderItems());
+
+    // when: 주문 상품 포함
+    SqlScope withItems = sqlStatementMonitor.open("item fields", 2);
+    List<OrderFieldsDto> detailed = orderQueryRepository.findOrderFields(OrderField.parse("orderId,orderItems"), 0, 100);
+    sqlStatementMonitor.close(withItems);
+
+    assertEquals(2, withItems.getStatementCount());
+    assertFalse(detailed.get(0).getOrderItems().isEmpty());
+  }
+
+  private Book createBook(String name, int price, int stockQuantity) {
+    Book book = new Book();
+    book.setName(name);
+    book.setPrice(price);
+    book.setStockQuantity(stockQuantity);
+    em.persist(book);
+    return book;
+  }
+
+  private Member createMember() {
+    Member member = new Member();
+    member.setName("budget-" + System.nanoTime());
+    member.setAddress(new Address("서울", "강가", "123123"));
+    em.persist(member);
+    return member;
+  }
+}
@@ -0,0 +1,128 @@
+package jpabook.jpashop.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.exception.NotEnoughStockException;
+
+// 여러 스레드가 각자의 트랜잭션으로 주문해야 하므로 @Transactional 사용하지 않음 (커밋한 데이터는 @AfterEach에서 삭제)
+@SpringBootTest
+public class StockConcurrencyTest {
+
+  private static final Logger log = LoggerFactory.getLogger(StockConcurrencyTest.class);
+
+  @Autowired OrderService orderService;
+  @Autowired MemberService memberService;
+  @Autowired ItemService itemService;
+  @Autowired EntityManager em;
+  @Autowired PlatformTransactionManager transactionManager;
+
+  CommittedTestData committed;
+
+  @BeforeEach
+  public void setUp() {
+    committed = new CommittedTestData(em, transactionManager);
+  }
+
+  @AfterEach
+  public void cleanUp() {
+    committed.deleteAll();
+  }
+
+  @Test
+  public void 인기상품동시주문() throws Exception {
+    // given
+    int stock = 100;
+    int threads = 8;
+    int ordersPerThread = 25;
+
+    Member member = createMember();
+    Book book = createBook(stock);
+
+    AtomicInteger success = new AtomicInteger();
+    AtomicInteger soldOut = new AtomicInteger();
+    AtomicInteger conflict = new AtomicInteger();
+
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<?>> futures = new ArrayList<>();
+
+    // when
+    for (int t = 0; t < threads; t++) {
+      futures.add(executor.submit(() -> {
+        start.await();
+        for (int i = 0; i < ordersPerThread; i++) {
+          try {
+            orderService.order(member.getId(), book.getId(), 1);
+            success.incrementAndGet();
+          } catch (NotEnoughStockException e) {
+            soldOut.incrementAndGet();
+          } catch (OptimisticLockingFailureException e) {
+            conflict.incrementAndGet();
+          }
+        }
+        return null;
+      }));
+    }
+
+    long startedAt = System.nanoTime();
+    start.countDown();
+    for (Future<?> future : futures) {
+      future.get();
+    }
+    long elapsed = System.nanoTime() - startedAt;
+    executor.shutdown();
+
+    int attempts = threads * ordersPerThread;
+    log.info("[stock] attempts={} success={} soldOut={} conflict={} elapsed={}ms throughput={} orders/s",
+        attempts, success.get(), soldOut.get(), conflict.get(), elapsed / 1_000_000,
+        String.format("%.1f", attempts / (elapsed / 1_000_000_000.0)));
+
+    // then
+    Item found = itemService.findOne(book.getId());
+    assertEquals(attempts, success.get() + soldOut.get() + conflict.get(), "모든 주문은 성공 또는 실패로 끝남");
+    assertTrue(success.get() <= stock, "재고보다 많이 판매되지 않음");
+    assertEquals(stock - success.get(), found.getStockQuantity(), "성공한 주문 수만큼만 재고 감소");
+  }
+
+  private Member createMember() {
+    Member member = new Member();
+    member.setName("동시주문-" + UUID.randomUUID());
+    member.setAddress(new Address("서울", "강가", "123123"));
+    memberService.join(member);
+    return committed.add(member);
+  }
+
+  private Book createBook(int stockQuantity) {
+    Book book = new Book();
+    book.setName("인기상품");
+    book.setPrice(10000);
+    book.setStockQuantity(stockQuantity);
+    itemService.save(book);
+    return committed.add(book);
+  }
+}
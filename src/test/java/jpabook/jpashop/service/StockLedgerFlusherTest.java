@@ -0,0 +1,78 @@
+package jpabook.jpashop.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.StockLedgerEntry;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.repository.StockLedgerRepository;
+
+// 배치 크기를 2로 줄여 원장이 여러 배치에 걸쳐 반영되는지 확인, 스케줄 flush는 테스트 중 실행되지 않도록 지연
+@SpringBootTest(properties = {
+    "jpashop.stock.ledger.flush-batch-size=2",
+    "jpashop.stock.ledger.flush-interval=3600000"
+})
+@Transactional
+public class StockLedgerFlusherTest {
+
+  @Autowired EntityManager em;
+  @Autowired StockLedgerFlusher stockLedgerFlusher;
+  @Autowired StockLedgerRepository stockLedgerRepository;
+
+  @Test
+  public void 원장을합산하여반영하고삭제() {
+    // given: 인기 상품 설정과 관계없이 남은 원장은 반영
+    Book book = 상품(10);
+    원장(book, -3, -2, 1);
+
+    // when
+    stockLedgerFlusher.flush();
+
+    // then
+    assertEquals(6, 재고(book));
+    assertTrue(stockLedgerRepository.findPending(10).isEmpty());
+  }
+
+  @Test
+  public void 시작시남은원장을모두반영() {
+    // given: 이전 실행에서 반영되지 못한 원장 (배치 크기보다 많음)
+    Book book = 상품(20);
+    원장(book, -1, -1, -1, -1, -1);
+
+    // when: 웹 서버가 요청을 받기 전 호출되는 초기화 단계
+    stockLedgerFlusher.afterSingletonsInstantiated();
+
+    // then
+    assertEquals(15, 재고(book));
+    assertTrue(stockLedgerRepository.findPending(10).isEmpty());
+  }
+
+  private Book 상품(int stockQuantity) {
+    Book book = new Book();
+    book.setName("ledger book");
+    book.setPrice(10000);
+    book.setStockQuantity(stockQuantity);
+    em.persist(book);
+    return book;
+  }
+
+  private void 원장(Item item, int... deltas) {
+    for (int delta : deltas) {
+      stockLedgerRepository.save(new StockLedgerEntry(item.getId(), delta));
+    }
+    em.flush();
+  }
+
+  // 벌크 UPDATE로 반영하므로 영속성 컨텍스트를 비우고 DB에서 다시 조회
+  private int 재고(Item item) {
+    em.clear();
+    return em.find(Item.class, item.getId()).getStockQuantity();
+  }
+}
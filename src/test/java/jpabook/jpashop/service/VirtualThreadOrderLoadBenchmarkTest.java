@@ -0,0 +1,24 @@
+package jpabook.jpashop.service;
+
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.test.context.SpringBootTest;
+
+// 가상 스레드 모드 부하 측정: application-virtual.yml 과 같은 설정 (Java 21 이상에서만 실행)
+@EnabledForJreRange(min = JRE.JAVA_21)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+        "jpashop.order-cache.enabled=false",
+        "spring.threads.virtual.enabled=true",
+        "spring.datasource.hikari.maximum-pool-size=20",
+        "spring.datasource.hikari.connection-timeout=3000",
+        "jpashop.web.concurrency-limit.enabled=true",
+        "jpashop.web.concurrency-limit.max-concurrent-requests=20"
+    })
+public class VirtualThreadOrderLoadBenchmarkTest extends OrderLoadBenchmarkTest {
+
+  @Override
+  protected String mode() {
+    return "virtual";
+  }
+}